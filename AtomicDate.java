@@ -0,0 +1,184 @@
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * The AtomicDate class holds a date that many threads read and a few update, such
+ * as a process-wide current business date.
+ * 
+ * The date is a single volatile int day number, so a read is one load and no
+ * reader can ever observe a half-applied day, month or year. Updates are atomic:
+ * set(), compareAndSet() and advanceDays() go through a VarHandle, and
+ * advanceDays() retries its compare-and-set until it wins.
+ * 
+ * Listeners registered with addListener() are told about every successful change,
+ * on the thread that made it, after the new value is visible to readers.
+ * 
+ * @author Shimon Esterkin (@SemionVlad)
+ * @version 2023B
+ */
+public class AtomicDate {
+    /**
+     * Receives changes of an AtomicDate.
+     */
+    public interface Listener {
+        /**
+         * Called after the date changes.
+         *
+         * @param oldDate the previous value
+         * @param newDate the new value
+         */
+        void dateChanged(ImmutableDate oldDate, ImmutableDate newDate);
+    }
+
+    private static final VarHandle EPOCH_DAY;
+
+    static {
+        try {
+            EPOCH_DAY = MethodHandles.lookup().findVarHandle(AtomicDate.class, "epochDay", int.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private volatile int epochDay;
+
+    private final CopyOnWriteArrayList<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Constructs a new AtomicDate holding the given date.
+     *
+     * @param initial the initial value
+     */
+    public AtomicDate(Date initial) {
+        this.epochDay = initial.toEpochDay();
+    }
+
+    // Reads
+
+    /**
+     * @return the current date
+     */
+    public ImmutableDate get() {
+        return ImmutableDate.fromEpochDay(epochDay);
+    }
+
+    /**
+     * @return the day number of the current date
+     */
+    public int getEpochDay() {
+        return epochDay;
+    }
+
+    // Updates
+
+    /**
+     * Replaces the date.
+     *
+     * @param date the new value
+     */
+    public void set(Date date) {
+        int newEpochDay = date.toEpochDay();
+        int oldEpochDay = (int) EPOCH_DAY.getAndSet(this, newEpochDay);
+        notifyListeners(oldEpochDay, newEpochDay);
+    }
+
+    /**
+     * Replaces the date only if it currently equals the expected date.
+     *
+     * @param expected the date the holder must contain
+     * @param date the new value
+     * @return true if the date was replaced
+     */
+    public boolean compareAndSet(Date expected, Date date) {
+        return compareAndSetEpochDay(expected.toEpochDay(), date.toEpochDay());
+    }
+
+    /**
+     * Replaces the day number only if it currently equals the expected one.
+     *
+     * @param expectedEpochDay the day number the holder must contain
+     * @param newEpochDay the new value
+     * @return true if the date was replaced
+     * @throws IllegalArgumentException if the new day number is not a valid date
+     */
+    public boolean compareAndSetEpochDay(int expectedEpochDay, int newEpochDay) {
+        checkEpochDay(newEpochDay);
+        if (!EPOCH_DAY.compareAndSet(this, expectedEpochDay, newEpochDay)) {
+            return false;
+        }
+        notifyListeners(expectedEpochDay, newEpochDay);
+        return true;
+    }
+
+    /**
+     * Atomically moves the date by the given number of days.
+     *
+     * @param days the number of days to move (may be negative)
+     * @return the new date
+     * @throws IllegalArgumentException if the result is outside the supported range
+     */
+    public ImmutableDate advanceDays(int days) {
+        while (true) {
+            int current = epochDay;
+            long target = (long) current + days;
+            if (!Date.isValidEpochDay(target)) {
+                throw new IllegalArgumentException("Cannot move " + Date.fromEpochDay(current) +
+                                                   " by " + days + " days");
+            }
+            if (EPOCH_DAY.compareAndSet(this, current, (int) target)) {
+                notifyListeners(current, (int) target);
+                return ImmutableDate.fromEpochDay((int) target);
+            }
+        }
+    }
+
+    // Listeners
+
+    /**
+     * Registers a listener for changes of the date.
+     *
+     * @param listener the listener to add
+     */
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Unregisters a listener.
+     *
+     * @param listener the listener to remove
+     */
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Returns a string representation of the current date in DD/MM/YYYY format.
+     *
+     * @return formatted string representation of the date
+     */
+    @Override
+    public String toString() {
+        return get().toString();
+    }
+
+    // Private helpers
+
+    private void notifyListeners(int oldEpochDay, int newEpochDay) {
+        if (oldEpochDay == newEpochDay || listeners.isEmpty()) {
+            return;
+        }
+        ImmutableDate oldDate = ImmutableDate.fromEpochDay(oldEpochDay);
+        ImmutableDate newDate = ImmutableDate.fromEpochDay(newEpochDay);
+        for (Listener listener : listeners) {
+            listener.dateChanged(oldDate, newDate);
+        }
+    }
+
+    private static void checkEpochDay(int epochDay) {
+        if (!Date.isValidEpochDay(epochDay)) {
+            throw new IllegalArgumentException("Not a valid day number: " + epochDay);
+        }
+    }
+}
@@ -18,7 +18,7 @@
  * @author Shimon Esterkin (@SemionVlad)
  * @version 2023B
  */
-public class Date {
+public class Date implements Comparable<Date> {
     // Month Constants
     private static final int JANUARY = 1;
     private static final int FEBRUARY = 2;
@@ -33,10 +33,38 @@ public class Date {
     private static final int NOVEMBER = 11;
     private static final int DECEMBER = 12;
 
+    // Day number range covered by verifyDate() (01/01/0000 through 31/12/9999)
+    static final int MIN_EPOCH_DAY = 1;
+    static final int MAX_EPOCH_DAY = 3652425;
+
+    // Day number of the fallback date 01/01/2000
+    static final int DEFAULT_EPOCH_DAY = 730486;
+
+    // Calendar lookup tables, built once from the rules in the helper methods below
+
+    /** Month lengths indexed by leap << 4 | month; unused slots hold 0. */
+    private static final byte[] MONTH_LENGTHS = new byte[32];
+
+    /** One bit per year 0-9999, set for leap years. */
+    private static final long[] LEAP_YEARS = new long[(9999 >> 6) + 1];
+
+    static {
+        for (int month = JANUARY; month <= DECEMBER; month++) {
+            int length = ifThirtyOneDays(month) ? 31 : ifThirtyDays(month) ? 30 : 28;
+            MONTH_LENGTHS[month] = (byte) length;
+            MONTH_LENGTHS[16 | month] = (byte) (month == FEBRUARY ? 29 : length);
+        }
+        for (int year = 0; year <= 9999; year++) {
+            if (isLeapYear(year)) {
+                LEAP_YEARS[year >> 6] |= 1L << year;
+            }
+        }
+    }
+
     // Instance variables
-    private int day;
-    private int month;
-    private int year;
+
+    /** Day number of this date on the calculateDate() scale (01/01/0000 is day 1). */
+    private int epochDay;
 
     // Private helper methods for date validation
 
@@ -46,7 +74,7 @@ public class Date {
      * @param month the month to check
      * @return true if the month has 30 days
      */
-    private boolean ifThirtyDays(int month) {
+    private static boolean ifThirtyDays(int month) {
         return month == APRIL || 
                month == JUNE || 
                month == SEPTEMBER || 
@@ -59,7 +87,7 @@ public class Date {
      * @param month the month to check
      * @return true if the month has 31 days
      */
-    private boolean ifThirtyOneDays(int month) {
+    private static boolean ifThirtyOneDays(int month) {
         return month == JANUARY || 
                month == MARCH || 
                month == MAY || 
@@ -77,7 +105,7 @@ public class Date {
      * @param year the year to check
      * @return true if the year is a leap year
      */
-    private boolean isLeapYear(int year) {
+    private static boolean isLeapYear(int year) {
         if (year % 4 == 0) {
             if (year % 100 == 0) {
                 return year % 400 == 0;
@@ -87,58 +115,192 @@ public class Date {
         return false;
     }
 
+    /**
+     * Returns the number of days in a month using the precomputed tables.
+     *
+     * @param month the month (1-12)
+     * @param year the year (0-9999)
+     * @return the number of days in that month
+     */
+    static int monthLength(int month, int year) {
+        int leap = (int) (LEAP_YEARS[year >> 6] >>> year) & 1;
+        return MONTH_LENGTHS[leap << 4 | month];
+    }
+
     /**
      * Verifies if a date is valid according to the Gregorian calendar rules.
+     * The month length comes from the precomputed tables, so apart from the
+     * range checks this is two table loads and a compare.
      *
      * @param day the day of the month
      * @param month the month (1-12)
      * @param year the year (0-9999)
      * @return true if the date is valid
      */
-    private boolean verifyDate(int day, int month, int year) {
-        if (year < 0 || year > 9999) {
+    static boolean verifyDate(int day, int month, int year) {
+        if (year < 0 || year > 9999 || month < 1 || month > 12 || day < 1) {
             return false;
         }
-        
-        if (month < 1 || month > 12) {
-            return false;
-        }
-    
-        if (day < 1) {
-            return false;
-        }
-    
-        if (month == FEBRUARY) {
-            return isLeapYear(year) ? day <= 29 : day <= 28;
-        }
-
-        if (ifThirtyDays(month)) {
-            return day <= 30;
-        }
-        
-        if (ifThirtyOneDays(month)) {
-            return day <= 31;
-        }
-
-        return false;
+        return day <= monthLength(month, year);
     }
 
     /**
      * Calculates the number of days since the start of the Christian era.
-     * Uses a modified version of the Gregorian calendar algorithm.
+     * Uses the Neri-Schneider formulation of the Gregorian calendar algorithm:
+     * the year is counted from March and shifted forward by one 400-year cycle so
+     * every intermediate value is positive, which turns each division by a constant
+     * into a shift or a multiply-and-shift. The result is identical to the classic
+     * 365 * y + y/4 - y/100 + y/400 formula.
      *
      * @param day the day of the month
      * @param month the month (1-12)
      * @param year the year
      * @return number of days since the start of the Christian era
      */
-    private int calculateDate(int day, int month, int year) {
-        if (month < 3) {
-            year--;
-            month = month + 12;
-        }
-        return 365 * year + year/4 - year/100 + year/400 + 
-               ((month + 1) * 306)/10 + (day - 62);
+    static int calculateDate(int day, int month, int year) {
+        int beforeMarch = month <= FEBRUARY ? 1 : 0;
+        int shiftedYear = year + 400 - beforeMarch;
+        int shiftedMonth = month + 12 * beforeMarch;
+        int century = (shiftedYear * 5243) >>> 19;
+        int yearDays = ((1461 * shiftedYear) >> 2) - century + (century >> 2);
+        int monthDays = (979 * shiftedMonth - 2919) >> 5;
+        return yearDays + monthDays + day - 146037;
+    }
+
+    /**
+     * Converts a day number produced by calculateDate() back into its components.
+     * Uses the same shifted, March-based years as calculateDate(), with every
+     * division replaced by a multiply-and-shift.
+     * The result is packed as year << 9 | month << 5 | day.
+     *
+     * @param epochDay the day number to convert
+     * @return the packed year, month and day
+     */
+    static int decodeDate(int epochDay) {
+        // Days since 01/03 of year -400, split into centuries and years
+        int n1 = 4 * (epochDay + 146036) + 3;
+        int century = (int) ((n1 * 15051803L) >>> 41);
+        int n2 = ((n1 - century * 146097) & ~3) + 3;
+        int yearOfCentury = (int) ((n2 * 2939745L) >>> 32);
+        int dayOfYear = (n2 - 1461 * yearOfCentury) >> 2;
+
+        int shiftedMonth = (2141 * dayOfYear + 197913) >>> 16;
+        int day = dayOfYear - ((979 * shiftedMonth - 2919) >> 5) + 1;
+        int afterDecember = dayOfYear >= 306 ? 1 : 0;
+        int month = shiftedMonth - 12 * afterDecember;
+        int year = 100 * century + yearOfCentury - 400 + afterDecember;
+        return year << 9 | month << 5 | day;
+    }
+
+    // Static primitive helpers
+
+    /**
+     * Checks whether the given components form a valid date, using the same
+     * rules as the constructor.
+     *
+     * @param day the day of the month
+     * @param month the month (1-12)
+     * @param year the year (0-9999)
+     * @return true if the date is valid
+     */
+    public static boolean isValidDate(int day, int month, int year) {
+        return verifyDate(day, month, year);
+    }
+
+    /**
+     * @param epochDay a day number
+     * @return true if the day number lies in the supported range (01/01/0000 through 31/12/9999)
+     */
+    static boolean isValidEpochDay(int epochDay) {
+        return epochDay >= MIN_EPOCH_DAY && epochDay <= MAX_EPOCH_DAY;
+    }
+
+    /**
+     * @param epochDay a day number, possibly the result of an overflowing offset
+     * @return true if the day number lies in the supported range (01/01/0000 through 31/12/9999)
+     */
+    static boolean isValidEpochDay(long epochDay) {
+        return epochDay >= MIN_EPOCH_DAY && epochDay <= MAX_EPOCH_DAY;
+    }
+
+    /**
+     * Converts date components to a day number without creating a Date.
+     * The components must form a valid date (see isValidDate()).
+     *
+     * @param day the day of the month
+     * @param month the month (1-12)
+     * @param year the year (0-9999)
+     * @return the day number (01/01/0000 is day 1)
+     */
+    public static int toEpochDay(int day, int month, int year) {
+        return calculateDate(day, month, year);
+    }
+
+    /**
+     * @param epochDay a valid day number
+     * @return the day of the month for that day number
+     */
+    public static int dayOf(int epochDay) {
+        return decodeDate(epochDay) & 31;
+    }
+
+    /**
+     * @param epochDay a valid day number
+     * @return the month (1-12) for that day number
+     */
+    public static int monthOf(int epochDay) {
+        return decodeDate(epochDay) >> 5 & 15;
+    }
+
+    /**
+     * @param epochDay a valid day number
+     * @return the year for that day number
+     */
+    public static int yearOf(int epochDay) {
+        return decodeDate(epochDay) >> 9;
+    }
+
+    /**
+     * Returns the ISO day of week of a day number. 01/01/0000 was a Saturday.
+     *
+     * @param epochDay a valid day number
+     * @return the day of week, 1 (Monday) through 7 (Sunday)
+     */
+    public static int dayOfWeekOf(int epochDay) {
+        return (epochDay + 4) % 7 + 1;
+    }
+
+    /**
+     * @param epochDay a valid day number
+     * @return the day of the year, 1 for 1 January
+     */
+    public static int dayOfYearOf(int epochDay) {
+        return epochDay - calculateDate(1, JANUARY, yearOf(epochDay)) + 1;
+    }
+
+    /**
+     * Returns the ISO-8601 week number of a day number. Weeks start on Monday and
+     * week 1 is the week containing the year's first Thursday.
+     *
+     * @param epochDay a valid day number
+     * @return the week number, 1 through 53
+     */
+    public static int isoWeekOf(int epochDay) {
+        int thursday = epochDay - dayOfWeekOf(epochDay) + 4;
+        int jan1 = calculateDate(1, JANUARY, yearOf(thursday));
+        return (thursday - jan1) / 7 + 1;
+    }
+
+    /**
+     * Returns the ISO-8601 week-based year of a day number, the year of the
+     * Thursday in its week. It differs from the calendar year for a few days
+     * around 1 January.
+     *
+     * @param epochDay a valid day number
+     * @return the week-based year
+     */
+    public static int isoWeekYearOf(int epochDay) {
+        return yearOf(epochDay - dayOfWeekOf(epochDay) + 4);
     }
 
     // Constructors
@@ -153,14 +315,10 @@ public class Date {
      */
     public Date(int day, int month, int year) {
         if (!verifyDate(day, month, year)) {
-            this.day = 1;
-            this.month = 1;
-            this.year = 2000;
+            this.epochDay = DEFAULT_EPOCH_DAY;
             return;
         }
-        this.day = day;
-        this.month = month;
-        this.year = year;
+        this.epochDay = calculateDate(day, month, year);
     }
 
     /**
@@ -169,9 +327,32 @@ public class Date {
      * @param other the Date to copy
      */
     public Date(Date other) {
-        this.day = other.getDay();
-        this.month = other.getMonth();
-        this.year = other.getYear();
+        this.epochDay = other.epochDay;
+    }
+
+    /**
+     * Constructs a Date from a calculateDate() day number.
+     * If the day number is outside the supported range, defaults to 01/01/2000.
+     *
+     * @param epochDay the day number
+     */
+    private Date(int epochDay) {
+        if (!isValidEpochDay(epochDay)) {
+            epochDay = DEFAULT_EPOCH_DAY;
+        }
+        this.epochDay = epochDay;
+    }
+
+    /**
+     * Creates a Date from a day number on the same scale as calculateDate()
+     * (01/01/0000 is day 1). This is the inverse of toEpochDay().
+     * If the day number is outside the supported range, defaults to 01/01/2000.
+     *
+     * @param epochDay the day number
+     * @return a new Date for that day
+     */
+    public static Date fromEpochDay(int epochDay) {
+        return new Date(epochDay);
     }
 
     // Getters and Setters
@@ -180,21 +361,56 @@ public class Date {
      * @return the day of the month
      */
     public int getDay() {
-        return day;
+        return decodeDate(epochDay) & 31;
     }
 
     /**
      * @return the month (1-12)
      */
     public int getMonth() {
-        return month;
+        return decodeDate(epochDay) >> 5 & 15;
     }
 
     /**
      * @return the year
      */
     public int getYear() {
-        return year;
+        return decodeDate(epochDay) >> 9;
+    }
+
+    /**
+     * @return the day number of this date (01/01/0000 is day 1)
+     */
+    public int toEpochDay() {
+        return epochDay;
+    }
+
+    /**
+     * @return the ISO day of week, 1 (Monday) through 7 (Sunday)
+     */
+    public int dayOfWeek() {
+        return dayOfWeekOf(epochDay);
+    }
+
+    /**
+     * @return the day of the year, 1 for 1 January
+     */
+    public int dayOfYear() {
+        return dayOfYearOf(epochDay);
+    }
+
+    /**
+     * @return the ISO-8601 week number, 1 through 53
+     */
+    public int isoWeek() {
+        return isoWeekOf(epochDay);
+    }
+
+    /**
+     * @return the ISO-8601 week-based year
+     */
+    public int isoWeekYear() {
+        return isoWeekYearOf(epochDay);
     }
 
     /**
@@ -203,8 +419,10 @@ public class Date {
      * @param dayToSet the new day value
      */
     public void setDay(int dayToSet) {
+        int month = getMonth();
+        int year = getYear();
         if (verifyDate(dayToSet, month, year)) {
-            day = dayToSet;
+            epochDay = calculateDate(dayToSet, month, year);
         }
     }
 
@@ -214,8 +432,10 @@ public class Date {
      * @param monthToSet the new month value
      */
     public void setMonth(int monthToSet) {
+        int day = getDay();
+        int year = getYear();
         if (verifyDate(day, monthToSet, year)) {
-            month = monthToSet;
+            epochDay = calculateDate(day, monthToSet, year);
         }
     }
 
@@ -225,8 +445,10 @@ public class Date {
      * @param yearToSet the new year value
      */
     public void setYear(int yearToSet) {
+        int day = getDay();
+        int month = getMonth();
         if (verifyDate(day, month, yearToSet)) {
-            year = yearToSet;
+            epochDay = calculateDate(day, month, yearToSet);
         }
     }
 
@@ -239,9 +461,44 @@ public class Date {
      * @return true if the dates are equal
      */
     public boolean equals(Date other) {
-        return day == other.getDay() && 
-               month == other.getMonth() && 
-               year == other.getYear();
+        return epochDay == other.epochDay;
+    }
+
+    /**
+     * Checks if this date equals another object.
+     * Two Date objects are equal when they represent the same day.
+     *
+     * @param other the object to compare with
+     * @return true if other is a Date for the same day
+     */
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof Date && epochDay == ((Date) other).epochDay;
+    }
+
+    /**
+     * Returns a hash code derived from the day number. The multiplication spreads
+     * consecutive days across the whole int range.
+     * Since Date is mutable, a date must not be modified while it is used as a
+     * key in a hash-based collection.
+     *
+     * @return the hash code of this date
+     */
+    @Override
+    public int hashCode() {
+        return epochDay * 0x9E3779B9;
+    }
+
+    /**
+     * Compares this date with another date in chronological order.
+     *
+     * @param other the date to compare with
+     * @return a negative number, zero or a positive number if this date is
+     *         before, equal to or after the other date
+     */
+    @Override
+    public int compareTo(Date other) {
+        return Integer.compare(epochDay, other.epochDay);
     }
 
     /**
@@ -251,21 +508,7 @@ public class Date {
      * @return true if this date is before the other date
      */
     public boolean before(Date other) {
-        if (year < other.getYear()) {
-            return true;
-        } 
-        if (year > other.getYear()) {
-            return false;
-        }
-        
-        if (month < other.getMonth()) {
-            return true;
-        } 
-        if (month > other.getMonth()) {
-            return false;
-        }
-        
-        return day < other.getDay();
+        return epochDay < other.epochDay;
     }
 
     /**
@@ -275,7 +518,7 @@ public class Date {
      * @return true if this date is after the other date
      */
     public boolean after(Date other) {
-        return !before(other) && !equals(other);
+        return epochDay > other.epochDay;
     }
 
     /**
@@ -285,8 +528,7 @@ public class Date {
      * @return number of days between the dates
      */
     public int difference(Date other) {
-        return calculateDate(day, month, year) - 
-               calculateDate(other.getDay(), other.getMonth(), other.getYear());
+        return epochDay - other.epochDay;
     }
 
     /**
@@ -295,23 +537,76 @@ public class Date {
      * @return a new Date object for tomorrow
      */
     public Date tomorrow() {
-        int nextDay = day;
-        int nextMonth = month;
-        int nextYear = year;
-    
-        if (verifyDate(nextDay + 1, nextMonth, nextYear)) {
-            nextDay++;
-        } else {
-            nextDay = 1;
-            nextMonth++;
-            
-            if (nextMonth > 12) {
-                nextMonth = 1;
-                nextYear++;
-            }
+        return new Date(epochDay + 1);
+    }
+
+    /**
+     * Creates a new Date object the given number of days after this one.
+     * If the result is outside the supported range, defaults to 01/01/2000.
+     *
+     * @param days the number of days to add (may be negative)
+     * @return a new Date object for the shifted day
+     */
+    public Date plusDays(int days) {
+        return shiftedBy((long) days);
+    }
+
+    /**
+     * Creates a new Date object the given number of days before this one.
+     * If the result is outside the supported range, defaults to 01/01/2000.
+     *
+     * @param days the number of days to subtract (may be negative)
+     * @return a new Date object for the shifted day
+     */
+    public Date minusDays(int days) {
+        return shiftedBy(-(long) days);
+    }
+
+    /**
+     * Builds the Date lying the given number of days away, guarding against
+     * offsets that would overflow the int day number.
+     *
+     * @param days the signed offset in days
+     * @return a new Date object for the shifted day
+     */
+    private Date shiftedBy(long days) {
+        long target = epochDay + days;
+        if (!isValidEpochDay(target)) {
+            return new Date(DEFAULT_EPOCH_DAY);
         }
-    
-        return new Date(nextDay, nextMonth, nextYear);
+        return new Date((int) target);
+    }
+
+    /**
+     * Writes the date in DD/MM/YYYY format into a byte array as ASCII.
+     *
+     * @param dst the destination array
+     * @param offset the index of the first byte to write
+     * @return the index just past the written date
+     */
+    public int formatTo(byte[] dst, int offset) {
+        return DateFormatter.format(epochDay, dst, offset);
+    }
+
+    /**
+     * Writes the date in DD/MM/YYYY format into a char array.
+     *
+     * @param dst the destination array
+     * @param offset the index of the first char to write
+     * @return the index just past the written date
+     */
+    public int formatTo(char[] dst, int offset) {
+        return DateFormatter.format(epochDay, dst, offset);
+    }
+
+    /**
+     * Appends the date in DD/MM/YYYY format to a StringBuilder.
+     *
+     * @param dst the builder to append to
+     * @return the builder, for chaining
+     */
+    public StringBuilder formatTo(StringBuilder dst) {
+        return DateFormatter.format(epochDay, dst);
     }
 
     /**
@@ -321,6 +616,8 @@ public class Date {
      */
     @Override
     public String toString() {
-        return String.format("%02d/%02d/%04d", day, month, year);
+        char[] buffer = new char[DateFormatter.FORMATTED_LENGTH];
+        DateFormatter.format(epochDay, buffer, 0);
+        return new String(buffer);
     }
 }
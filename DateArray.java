@@ -0,0 +1,255 @@
+import java.util.Arrays;
+
+/**
+ * The DateArray class stores a fixed-size column of dates as a packed int[] of
+ * day numbers (as returned by Date.toEpochDay()) instead of individual Date objects.
+ * 
+ * Each element costs four bytes and the column is contiguous in memory, so bulk
+ * operations are simple counted loops over primitive arrays (see DateKernels for
+ * which of them the JIT compiler may vectorize):
+ * - Validation of every element
+ * - Sorting in chronological order
+ * - Element-wise difference and before/after comparison with another column
+ * - Shifting every date forward (tomorrow, plusDays)
+ * 
+ * Elements written through setEpochDay() are stored as given; use firstInvalid()
+ * or countValid() to check a column filled from untrusted input.
+ * 
+ * @author Shimon Esterkin (@SemionVlad)
+ * @version 2023B
+ */
+public class DateArray {
+    private final int[] epochDays;
+
+    /**
+     * Constructs a new DateArray of the given size.
+     * Every element is initialized to 01/01/2000, the Date default.
+     *
+     * @param size the number of dates in the column
+     */
+    public DateArray(int size) {
+        epochDays = new int[size];
+        Arrays.fill(epochDays, Date.DEFAULT_EPOCH_DAY);
+    }
+
+    /**
+     * Constructs a new DateArray holding the given dates in order.
+     *
+     * @param dates the dates to store
+     */
+    public DateArray(Date[] dates) {
+        epochDays = new int[dates.length];
+        for (int i = 0; i < dates.length; i++) {
+            epochDays[i] = dates[i].toEpochDay();
+        }
+    }
+
+    /**
+     * Copy constructor - creates a new DateArray with the same contents as another.
+     *
+     * @param other the DateArray to copy
+     */
+    public DateArray(DateArray other) {
+        epochDays = other.epochDays.clone();
+    }
+
+    private DateArray(int[] epochDays) {
+        this.epochDays = epochDays;
+    }
+
+    /**
+     * Creates a DateArray holding a copy of the given day numbers.
+     *
+     * @param epochDays the day numbers to store
+     * @return a new DateArray
+     */
+    public static DateArray fromEpochDays(int[] epochDays) {
+        return new DateArray(epochDays.clone());
+    }
+
+    // Element access
+
+    /**
+     * @return the number of dates in the column
+     */
+    public int size() {
+        return epochDays.length;
+    }
+
+    /**
+     * Returns the date at the given index as a new Date object.
+     *
+     * @param index the element index
+     * @return a new Date for that element
+     */
+    public Date get(int index) {
+        return Date.fromEpochDay(epochDays[index]);
+    }
+
+    /**
+     * @param index the element index
+     * @return the day number stored at that index
+     */
+    public int getEpochDay(int index) {
+        return epochDays[index];
+    }
+
+    /**
+     * Stores a date at the given index.
+     *
+     * @param index the element index
+     * @param date the date to store
+     */
+    public void set(int index, Date date) {
+        epochDays[index] = date.toEpochDay();
+    }
+
+    /**
+     * Stores a day number at the given index without validating it.
+     *
+     * @param index the element index
+     * @param epochDay the day number to store
+     */
+    public void setEpochDay(int index, int epochDay) {
+        epochDays[index] = epochDay;
+    }
+
+    /**
+     * @return a copy of the stored day numbers
+     */
+    public int[] toEpochDayArray() {
+        return epochDays.clone();
+    }
+
+    // Bulk validation
+
+    /**
+     * Finds the first element that is not a valid date.
+     *
+     * @return the index of the first invalid element, or -1 if all are valid
+     */
+    public int firstInvalid() {
+        return DateKernels.firstInvalid(epochDays, 0, epochDays.length);
+    }
+
+    /**
+     * Counts the elements that are valid dates.
+     *
+     * @return the number of valid elements
+     */
+    public int countValid() {
+        return DateKernels.countValid(epochDays);
+    }
+
+    // Bulk operations
+
+    /**
+     * Sorts the column in chronological order.
+     */
+    public void sort() {
+        DateSort.sort(epochDays);
+    }
+
+    /**
+     * Computes the order that would sort the column, without modifying it.
+     * Equal dates keep their original relative order.
+     *
+     * @return indices of the elements in chronological order
+     */
+    public int[] sortOrder() {
+        return DateSort.argsort(epochDays);
+    }
+
+    /**
+     * Calculates the number of days between each element of this column and the
+     * element at the same index of another column.
+     *
+     * @param other the column to calculate differences with
+     * @param result receives this[i].difference(other[i]) at index i
+     */
+    public void difference(DateArray other, int[] result) {
+        checkSameSize(other, result.length);
+        DateKernels.difference(epochDays, other.epochDays, result);
+    }
+
+    /**
+     * Checks, element by element, whether this column comes before another column.
+     *
+     * @param other the column to compare with
+     * @param result receives this[i].before(other[i]) at index i
+     */
+    public void before(DateArray other, boolean[] result) {
+        checkSameSize(other, result.length);
+        int[] a = epochDays;
+        int[] b = other.epochDays;
+        for (int i = 0; i < a.length; i++) {
+            result[i] = a[i] < b[i];
+        }
+    }
+
+    /**
+     * Checks, element by element, whether this column comes after another column.
+     *
+     * @param other the column to compare with
+     * @param result receives this[i].after(other[i]) at index i
+     */
+    public void after(DateArray other, boolean[] result) {
+        checkSameSize(other, result.length);
+        int[] a = epochDays;
+        int[] b = other.epochDays;
+        for (int i = 0; i < a.length; i++) {
+            result[i] = a[i] > b[i];
+        }
+    }
+
+    /**
+     * Finds the earliest date in the column.
+     *
+     * @return a new Date for the earliest element
+     * @throws IllegalArgumentException if the column is empty
+     */
+    public Date min() {
+        return Date.fromEpochDay(DateKernels.min(epochDays));
+    }
+
+    /**
+     * Finds the latest date in the column.
+     *
+     * @return a new Date for the latest element
+     * @throws IllegalArgumentException if the column is empty
+     */
+    public Date max() {
+        return Date.fromEpochDay(DateKernels.max(epochDays));
+    }
+
+    /**
+     * Creates a new column holding the next day of every element.
+     * As with Date.tomorrow(), the day after 31/12/9999 becomes 01/01/2000.
+     *
+     * @return a new DateArray shifted by one day
+     */
+    public DateArray tomorrow() {
+        return plusDays(1);
+    }
+
+    /**
+     * Creates a new column with every element shifted by the given number of days.
+     * Elements that are invalid or would leave the supported range become 01/01/2000.
+     *
+     * @param days the number of days to add (may be negative)
+     * @return a new DateArray with the shifted dates
+     */
+    public DateArray plusDays(int days) {
+        int[] result = new int[epochDays.length];
+        DateKernels.plusDays(epochDays, days, result);
+        return new DateArray(result);
+    }
+
+    // Private helpers
+
+    private void checkSameSize(DateArray other, int resultLength) {
+        if (other.epochDays.length != epochDays.length || resultLength != epochDays.length) {
+            throw new IllegalArgumentException("Columns and result must have the same size");
+        }
+    }
+}
@@ -0,0 +1,337 @@
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * The DateBitmap class is an exact set of dates with one bit per day number over
+ * the whole supported range (01/01/0000 to 31/12/9999, about 450KB).
+ * 
+ * Membership tests and updates are single bit operations, and set algebra (union,
+ * intersect, andNot) runs word by word over the two bitmaps. The bitmap also works
+ * as an exact distinct counter through cardinality(), and supports ordered
+ * iteration over any DateRange.
+ * 
+ * rank() and select() use a table of member counts before each 64-bit word, built
+ * on first use after a change from the first changed word onwards, which makes rank
+ * constant time and select a binary search.
+ * 
+ * This class is not thread-safe: even queries may build the rank table.
+ * 
+ * @author Shimon Esterkin (@SemionVlad)
+ * @version 2023B
+ */
+public class DateBitmap {
+    private static final int WORDS = (Date.MAX_EPOCH_DAY >> 6) + 1;
+
+    private final long[] words = new long[WORDS];
+    private int[] prefixCounts;
+    // First word whose prefix count is stale; WORDS when the table is up to date
+    private int dirtyFrom;
+
+    /**
+     * Constructs a new, empty DateBitmap.
+     */
+    public DateBitmap() {
+    }
+
+    /**
+     * Copy constructor - creates a new DateBitmap with the same members as another.
+     *
+     * @param other the DateBitmap to copy
+     */
+    public DateBitmap(DateBitmap other) {
+        System.arraycopy(other.words, 0, words, 0, WORDS);
+        if (other.prefixCounts != null) {
+            prefixCounts = other.prefixCounts.clone();
+            dirtyFrom = other.dirtyFrom;
+        }
+    }
+
+    // Membership
+
+    /**
+     * Adds a date to the set.
+     *
+     * @param date the date to add
+     */
+    public void add(Date date) {
+        addEpochDay(date.toEpochDay());
+    }
+
+    /**
+     * Adds a day number to the set.
+     *
+     * @param epochDay the day number to add
+     * @throws IllegalArgumentException if the day number is not a valid date
+     */
+    public void addEpochDay(int epochDay) {
+        checkEpochDay(epochDay);
+        words[epochDay >> 6] |= 1L << epochDay;
+        changed(epochDay >> 6);
+    }
+
+    /**
+     * Adds every day number of a packed column to the set.
+     *
+     * @param epochDays the day numbers to add
+     * @throws IllegalArgumentException if a day number is not a valid date
+     */
+    public void addAll(int[] epochDays) {
+        for (int epochDay : epochDays) {
+            addEpochDay(epochDay);
+        }
+    }
+
+    /**
+     * Removes a date from the set, if present.
+     *
+     * @param date the date to remove
+     */
+    public void remove(Date date) {
+        removeEpochDay(date.toEpochDay());
+    }
+
+    /**
+     * Removes a day number from the set, if present.
+     *
+     * @param epochDay the day number to remove
+     */
+    public void removeEpochDay(int epochDay) {
+        if (Date.isValidEpochDay(epochDay)) {
+            words[epochDay >> 6] &= ~(1L << epochDay);
+            changed(epochDay >> 6);
+        }
+    }
+
+    /**
+     * Checks if a date is in the set.
+     *
+     * @param date the date to check
+     * @return true if the date is a member
+     */
+    public boolean contains(Date date) {
+        return containsEpochDay(date.toEpochDay());
+    }
+
+    /**
+     * Checks if a day number is in the set.
+     *
+     * @param epochDay the day number to check
+     * @return true if the day number is a member
+     */
+    public boolean containsEpochDay(int epochDay) {
+        if (!Date.isValidEpochDay(epochDay)) {
+            return false;
+        }
+        return (words[epochDay >> 6] >>> epochDay & 1) != 0;
+    }
+
+    /**
+     * Removes every member.
+     */
+    public void clear() {
+        Arrays.fill(words, 0);
+        dirtyFrom = 0;
+    }
+
+    /**
+     * @return the number of distinct dates in the set
+     */
+    public int cardinality() {
+        build();
+        return prefixCounts[WORDS];
+    }
+
+    /**
+     * @return true if the set has no members
+     */
+    public boolean isEmpty() {
+        return nextEpochDay(Date.MIN_EPOCH_DAY) < 0;
+    }
+
+    // Set algebra
+
+    /**
+     * Adds every member of another set to this set.
+     *
+     * @param other the set to merge in
+     */
+    public void union(DateBitmap other) {
+        for (int i = 0; i < WORDS; i++) {
+            words[i] |= other.words[i];
+        }
+        dirtyFrom = 0;
+    }
+
+    /**
+     * Keeps only the members that are also in another set.
+     *
+     * @param other the set to intersect with
+     */
+    public void intersect(DateBitmap other) {
+        for (int i = 0; i < WORDS; i++) {
+            words[i] &= other.words[i];
+        }
+        dirtyFrom = 0;
+    }
+
+    /**
+     * Removes every member that is in another set.
+     *
+     * @param other the set of dates to remove
+     */
+    public void andNot(DateBitmap other) {
+        for (int i = 0; i < WORDS; i++) {
+            words[i] &= ~other.words[i];
+        }
+        dirtyFrom = 0;
+    }
+
+    // Iteration
+
+    /**
+     * Finds the first member at or after a day number.
+     *
+     * @param fromEpochDay the day number to start searching at
+     * @return the first member's day number, or -1 if there is none
+     */
+    public int nextEpochDay(int fromEpochDay) {
+        int from = Math.max(fromEpochDay, 0);
+        int w = from >> 6;
+        if (w >= WORDS) {
+            return -1;
+        }
+        long word = words[w] & (-1L << from);
+        while (word == 0) {
+            if (++w == WORDS) {
+                return -1;
+            }
+            word = words[w];
+        }
+        return (w << 6) + Long.numberOfTrailingZeros(word);
+    }
+
+    /**
+     * Passes every member in a range to the consumer, in chronological order.
+     *
+     * @param range the range to iterate over
+     * @param action receives the day number of each member
+     */
+    public void forEachInRange(DateRange range, IntConsumer action) {
+        int end = range.getEndEpochDay();
+        for (int e = nextEpochDay(range.getStartEpochDay()); e >= 0 && e < end; e = nextEpochDay(e + 1)) {
+            action.accept(e);
+        }
+    }
+
+    /**
+     * Passes every member to the consumer, in chronological order.
+     *
+     * @param action receives the day number of each member
+     */
+    public void forEach(IntConsumer action) {
+        for (int w = 0; w < WORDS; w++) {
+            long word = words[w];
+            while (word != 0) {
+                action.accept((w << 6) + Long.numberOfTrailingZeros(word));
+                word &= word - 1;
+            }
+        }
+    }
+
+    /**
+     * Counts the members in a range.
+     *
+     * @param range the range to count in
+     * @return the number of members in [start, end)
+     */
+    public int count(DateRange range) {
+        build();
+        return rank(range.getEndEpochDay()) - rank(range.getStartEpochDay());
+    }
+
+    // Rank and select
+
+    /**
+     * Counts the members strictly before a day number.
+     *
+     * @param epochDay the day number
+     * @return the number of members with a smaller day number
+     */
+    public int rank(int epochDay) {
+        build();
+        if (epochDay <= 0) {
+            return 0;
+        }
+        int w = epochDay >> 6;
+        if (w >= WORDS) {
+            return prefixCounts[WORDS];
+        }
+        return prefixCounts[w] + Long.bitCount(words[w] & ((1L << epochDay) - 1));
+    }
+
+    /**
+     * Finds the member with exactly r members before it.
+     *
+     * @param r the 0-based rank
+     * @return the day number of that member, or -1 if r is out of range
+     */
+    public int select(int r) {
+        build();
+        if (r < 0 || r >= prefixCounts[WORDS]) {
+            return -1;
+        }
+        int low = 0;
+        int high = WORDS - 1;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (prefixCounts[middle] <= r) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        long word = words[low];
+        for (int k = r - prefixCounts[low]; k > 0; k--) {
+            word &= word - 1;
+        }
+        return (low << 6) + Long.numberOfTrailingZeros(word);
+    }
+
+    /**
+     * Rebuilds the per-word member counts after a change, from the first changed
+     * word onwards.
+     * Owners that share an unmodified bitmap between threads call it before
+     * publishing the bitmap, so that later queries only read.
+     */
+    void build() {
+        if (dirtyFrom == WORDS) {
+            return;
+        }
+        if (prefixCounts == null) {
+            prefixCounts = new int[WORDS + 1];
+            dirtyFrom = 0;
+        }
+        int count = prefixCounts[dirtyFrom];
+        for (int w = dirtyFrom; w < WORDS; w++) {
+            prefixCounts[w] = count;
+            count += Long.bitCount(words[w]);
+        }
+        prefixCounts[WORDS] = count;
+        dirtyFrom = WORDS;
+    }
+
+    // Private helpers
+
+    /**
+     * Records that a word changed, so build() recounts from there.
+     */
+    private void changed(int word) {
+        dirtyFrom = Math.min(dirtyFrom, word);
+    }
+
+    private static void checkEpochDay(int epochDay) {
+        if (!Date.isValidEpochDay(epochDay)) {
+            throw new IllegalArgumentException("Not a valid day number: " + epochDay);
+        }
+    }
+}
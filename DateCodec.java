@@ -0,0 +1,460 @@
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * The DateCodec class encodes dates and packed date columns in compact binary forms,
+ * replacing the ten-character DD/MM/YYYY text written by Date.toString().
+ * 
+ * Three encodings are provided, each over OutputStream/InputStream and ByteBuffer:
+ * - Single date: the day number in 3 bytes, big-endian (every valid day number
+ *   fits in 22 bits)
+ * - Delta column: a varint count followed by the zigzag varint of the difference
+ *   between each date and the previous one (the first is taken relative to 0).
+ *   Sorted or nearly sorted columns cost about one byte per date.
+ * - Packed column: a varint count, the zigzag varint minimum of the column, a bit
+ *   width byte (0-32), then every date minus the minimum as an unsigned offset in
+ *   that many bits, least significant bits first (frame of reference). This suits
+ *   unsorted columns that span a limited window of dates.
+ * 
+ * DeltaWriter and DeltaReader stream the delta encoding one date at a time, for
+ * columns that never fit in memory at once.
+ * 
+ * The column encodings accept any int values, including the negative error codes
+ * stored by DateColumnReader, and decoders return them exactly as they were
+ * written; they do not validate day numbers. The single-date encoding only holds
+ * valid day numbers.
+ * 
+ * @author Shimon Esterkin (@SemionVlad)
+ * @version 2023B
+ */
+public final class DateCodec {
+    /** Number of bytes in an encoded single date. */
+    public static final int DATE_BYTES = 3;
+
+    private DateCodec() {
+    }
+
+    // Single dates
+
+    /**
+     * Writes a date in 3 bytes.
+     *
+     * @param date the date to write
+     * @param out the destination stream
+     * @throws IOException if the stream fails
+     */
+    public static void writeDate(Date date, OutputStream out) throws IOException {
+        writeEpochDay(date.toEpochDay(), out);
+    }
+
+    /**
+     * Reads a date written by writeDate().
+     *
+     * @param in the source stream
+     * @return a new Date
+     * @throws IOException if the stream fails or ends early
+     */
+    public static Date readDate(InputStream in) throws IOException {
+        return Date.fromEpochDay(readEpochDay(in));
+    }
+
+    /**
+     * Writes a day number in 3 bytes.
+     *
+     * @param epochDay the day number to write
+     * @param out the destination stream
+     * @throws IOException if the stream fails
+     */
+    public static void writeEpochDay(int epochDay, OutputStream out) throws IOException {
+        out.write(epochDay >>> 16);
+        out.write(epochDay >>> 8);
+        out.write(epochDay);
+    }
+
+    /**
+     * Reads a day number written by writeEpochDay().
+     *
+     * @param in the source stream
+     * @return the day number
+     * @throws IOException if the stream fails or ends early
+     */
+    public static int readEpochDay(InputStream in) throws IOException {
+        return readByte(in) << 16 | readByte(in) << 8 | readByte(in);
+    }
+
+    /**
+     * Writes a day number in 3 bytes at the buffer's position.
+     *
+     * @param epochDay the day number to write
+     * @param dst the destination buffer
+     */
+    public static void putEpochDay(int epochDay, ByteBuffer dst) {
+        dst.put((byte) (epochDay >>> 16));
+        dst.put((byte) (epochDay >>> 8));
+        dst.put((byte) epochDay);
+    }
+
+    /**
+     * Reads a day number written by putEpochDay() at the buffer's position.
+     *
+     * @param src the source buffer
+     * @return the day number
+     */
+    public static int getEpochDay(ByteBuffer src) {
+        return (src.get() & 0xFF) << 16 | (src.get() & 0xFF) << 8 | (src.get() & 0xFF);
+    }
+
+    // Delta columns
+
+    /**
+     * Writes a column as a count followed by zigzag varint deltas.
+     *
+     * @param epochDays the column to write
+     * @param out the destination stream
+     * @throws IOException if the stream fails
+     */
+    public static void writeDeltaColumn(int[] epochDays, OutputStream out) throws IOException {
+        writeVarint(epochDays.length, out);
+        int previous = 0;
+        for (int epochDay : epochDays) {
+            writeVarint(zigzag(epochDay - previous), out);
+            previous = epochDay;
+        }
+    }
+
+    /**
+     * Reads a column written by writeDeltaColumn().
+     *
+     * @param in the source stream
+     * @return the column
+     * @throws IOException if the stream fails, ends early or holds a malformed varint
+     */
+    public static int[] readDeltaColumn(InputStream in) throws IOException {
+        int[] epochDays = new int[readVarint(in)];
+        int previous = 0;
+        for (int i = 0; i < epochDays.length; i++) {
+            previous += unzigzag(readVarint(in));
+            epochDays[i] = previous;
+        }
+        return epochDays;
+    }
+
+    /**
+     * Writes a column as a count followed by zigzag varint deltas at the buffer's position.
+     *
+     * @param epochDays the column to write
+     * @param dst the destination buffer
+     */
+    public static void putDeltaColumn(int[] epochDays, ByteBuffer dst) {
+        putVarint(epochDays.length, dst);
+        int previous = 0;
+        for (int epochDay : epochDays) {
+            putVarint(zigzag(epochDay - previous), dst);
+            previous = epochDay;
+        }
+    }
+
+    /**
+     * Reads a column written by putDeltaColumn() at the buffer's position.
+     *
+     * @param src the source buffer
+     * @return the column
+     * @throws IllegalArgumentException if the buffer holds a malformed varint
+     */
+    public static int[] getDeltaColumn(ByteBuffer src) {
+        int[] epochDays = new int[getVarint(src)];
+        int previous = 0;
+        for (int i = 0; i < epochDays.length; i++) {
+            previous += unzigzag(getVarint(src));
+            epochDays[i] = previous;
+        }
+        return epochDays;
+    }
+
+    // Packed (frame-of-reference) columns
+
+    /**
+     * Writes a column as its minimum followed by every value's offset from it,
+     * each in the fewest bits that hold the largest offset.
+     *
+     * @param epochDays the column to write
+     * @param out the destination stream
+     * @throws IOException if the stream fails
+     */
+    public static void writePackedColumn(int[] epochDays, OutputStream out) throws IOException {
+        writeVarint(epochDays.length, out);
+        if (epochDays.length == 0) {
+            return;
+        }
+        int min = DateKernels.min(epochDays);
+        int width = bitWidth(DateKernels.max(epochDays) - min);
+        writeVarint(zigzag(min), out);
+        out.write(width);
+
+        long bits = 0;
+        int pending = 0;
+        for (int epochDay : epochDays) {
+            bits |= ((epochDay - min) & 0xFFFFFFFFL) << pending;
+            pending += width;
+            while (pending >= 8) {
+                out.write((int) bits);
+                bits >>>= 8;
+                pending -= 8;
+            }
+        }
+        if (pending > 0) {
+            out.write((int) bits);
+        }
+    }
+
+    /**
+     * Reads a column written by writePackedColumn().
+     *
+     * @param in the source stream
+     * @return the column
+     * @throws IOException if the stream fails, ends early or holds malformed data
+     */
+    public static int[] readPackedColumn(InputStream in) throws IOException {
+        int[] epochDays = new int[readVarint(in)];
+        if (epochDays.length == 0) {
+            return epochDays;
+        }
+        int min = unzigzag(readVarint(in));
+        int width = readByte(in);
+        if (width > 32) {
+            throw new IOException("Malformed packed column: bit width " + width);
+        }
+
+        long mask = (1L << width) - 1;
+        long bits = 0;
+        int available = 0;
+        for (int i = 0; i < epochDays.length; i++) {
+            while (available < width) {
+                bits |= (long) readByte(in) << available;
+                available += 8;
+            }
+            epochDays[i] = min + (int) (bits & mask);
+            bits >>>= width;
+            available -= width;
+        }
+        return epochDays;
+    }
+
+    /**
+     * Writes a packed column at the buffer's position, in the same layout as
+     * writePackedColumn().
+     *
+     * @param epochDays the column to write
+     * @param dst the destination buffer
+     */
+    public static void putPackedColumn(int[] epochDays, ByteBuffer dst) {
+        putVarint(epochDays.length, dst);
+        if (epochDays.length == 0) {
+            return;
+        }
+        int min = DateKernels.min(epochDays);
+        int width = bitWidth(DateKernels.max(epochDays) - min);
+        putVarint(zigzag(min), dst);
+        dst.put((byte) width);
+
+        long bits = 0;
+        int pending = 0;
+        for (int epochDay : epochDays) {
+            bits |= ((epochDay - min) & 0xFFFFFFFFL) << pending;
+            pending += width;
+            while (pending >= 8) {
+                dst.put((byte) bits);
+                bits >>>= 8;
+                pending -= 8;
+            }
+        }
+        if (pending > 0) {
+            dst.put((byte) bits);
+        }
+    }
+
+    /**
+     * Reads a column written by putPackedColumn() at the buffer's position.
+     *
+     * @param src the source buffer
+     * @return the column
+     * @throws IllegalArgumentException if the buffer holds malformed data
+     */
+    public static int[] getPackedColumn(ByteBuffer src) {
+        int[] epochDays = new int[getVarint(src)];
+        if (epochDays.length == 0) {
+            return epochDays;
+        }
+        int min = unzigzag(getVarint(src));
+        int width = src.get() & 0xFF;
+        if (width > 32) {
+            throw new IllegalArgumentException("Malformed packed column: bit width " + width);
+        }
+
+        long mask = (1L << width) - 1;
+        long bits = 0;
+        int available = 0;
+        for (int i = 0; i < epochDays.length; i++) {
+            while (available < width) {
+                bits |= (long) (src.get() & 0xFF) << available;
+                available += 8;
+            }
+            epochDays[i] = min + (int) (bits & mask);
+            bits >>>= width;
+            available -= width;
+        }
+        return epochDays;
+    }
+
+    // Streaming delta encoding
+
+    /**
+     * Writes dates one at a time as zigzag varint deltas, without a leading count.
+     */
+    public static final class DeltaWriter {
+        private final OutputStream out;
+        private int previous;
+
+        /**
+         * @param out the destination stream
+         */
+        public DeltaWriter(OutputStream out) {
+            this.out = out;
+        }
+
+        /**
+         * Appends a date.
+         *
+         * @param epochDay the day number to append
+         * @throws IOException if the stream fails
+         */
+        public void write(int epochDay) throws IOException {
+            writeVarint(zigzag(epochDay - previous), out);
+            previous = epochDay;
+        }
+    }
+
+    /**
+     * Reads dates written by a DeltaWriter one at a time until the stream ends.
+     * Every int is a legal value, so the end of the stream is reported by
+     * hasNext() rather than by a sentinel.
+     */
+    public static final class DeltaReader {
+        private final InputStream in;
+        private int previous;
+        // First byte of the next value, read ahead by hasNext(); -1 when none is buffered
+        private int lookahead = -1;
+
+        /**
+         * @param in the source stream
+         */
+        public DeltaReader(InputStream in) {
+            this.in = in;
+        }
+
+        /**
+         * Checks whether another date follows.
+         *
+         * @return true if next() will return a date, false at the end of the stream
+         * @throws IOException if the stream fails
+         */
+        public boolean hasNext() throws IOException {
+            if (lookahead < 0) {
+                lookahead = in.read();
+            }
+            return lookahead >= 0;
+        }
+
+        /**
+         * Reads the next date.
+         *
+         * @return the next day number
+         * @throws EOFException if the stream has ended
+         * @throws IOException if the stream fails or ends inside a value
+         */
+        public int next() throws IOException {
+            if (!hasNext()) {
+                throw new EOFException();
+            }
+            int first = lookahead;
+            lookahead = -1;
+            previous += unzigzag(readVarint(first, in));
+            return previous;
+        }
+    }
+
+    // Private helpers
+
+    private static int zigzag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    private static int unzigzag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * @return the bits needed for an offset up to range, read as an unsigned int
+     */
+    private static int bitWidth(int range) {
+        return 32 - Integer.numberOfLeadingZeros(range);
+    }
+
+    private static void writeVarint(int value, OutputStream out) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private static int readVarint(InputStream in) throws IOException {
+        return readVarint(readByte(in), in);
+    }
+
+    private static int readVarint(int first, InputStream in) throws IOException {
+        int value = first & 0x7F;
+        int b = first;
+        for (int shift = 7; (b & 0x80) != 0; shift += 7) {
+            if (shift > 28) {
+                throw new IOException("Malformed varint");
+            }
+            b = readByte(in);
+            value |= (b & 0x7F) << shift;
+        }
+        return value;
+    }
+
+    private static void putVarint(int value, ByteBuffer dst) {
+        while ((value & ~0x7F) != 0) {
+            dst.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        dst.put((byte) value);
+    }
+
+    private static int getVarint(ByteBuffer src) {
+        int value = 0;
+        for (int shift = 0; ; shift += 7) {
+            if (shift > 28) {
+                throw new IllegalArgumentException("Malformed varint");
+            }
+            int b = src.get() & 0xFF;
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+    }
+
+    private static int readByte(InputStream in) throws IOException {
+        int b = in.read();
+        if (b < 0) {
+            throw new EOFException();
+        }
+        return b;
+    }
+}
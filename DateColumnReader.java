@@ -0,0 +1,269 @@
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * The DateColumnReader class loads one DD/MM/YYYY field of every record of a text
+ * file straight into a packed date column (an int[] of day numbers), without
+ * creating String or Date objects.
+ * 
+ * The file is memory-mapped with FileChannel.map in segments of up to 1GB that end
+ * on line boundaries, and each record's field is handed to DateParser as a slice of
+ * the mapped buffer. Two record layouts are supported:
+ * - delimited: the date is the n-th field (0-based) between single-byte delimiters,
+ *   as in CSV files without quoting
+ * - fixed-width: the date starts at a fixed byte offset in every record
+ * 
+ * Records end with '\n' (a preceding '\r' is ignored) and empty lines are skipped.
+ * A record whose field does not parse is stored as the negative DateParser error
+ * code instead of throwing, so the column lines up with the file; use
+ * DateKernels.countValid() or DateArray.firstInvalid() to find such rows.
+ * 
+ * readParallel() splits the file into chunks on line boundaries, parses them on a
+ * ForkJoinPool and concatenates the results in file order.
+ * 
+ * @author Shimon Esterkin (@SemionVlad)
+ * @version 2023B
+ */
+public class DateColumnReader {
+    private static final byte NEWLINE = '\n';
+    private static final byte CARRIAGE_RETURN = '\r';
+    private static final long MAX_SEGMENT = 1L << 30;
+
+    // Field index for delimited records, or -1 for fixed-width records
+    private final int fieldIndex;
+    private final byte delimiter;
+    private final int fixedOffset;
+    private final boolean hasHeader;
+
+    private DateColumnReader(int fieldIndex, byte delimiter, int fixedOffset, boolean hasHeader) {
+        this.fieldIndex = fieldIndex;
+        this.delimiter = delimiter;
+        this.fixedOffset = fixedOffset;
+        this.hasHeader = hasHeader;
+    }
+
+    /**
+     * Creates a reader for delimited records such as CSV.
+     *
+     * @param delimiter the single-byte field separator, e.g. ','
+     * @param fieldIndex the 0-based index of the date field
+     * @param hasHeader true if the first line is a header to skip
+     * @return a new DateColumnReader
+     * @throws IllegalArgumentException if the field index is negative
+     */
+    public static DateColumnReader delimited(char delimiter, int fieldIndex, boolean hasHeader) {
+        if (fieldIndex < 0) {
+            throw new IllegalArgumentException("Field index must not be negative: " + fieldIndex);
+        }
+        return new DateColumnReader(fieldIndex, (byte) delimiter, 0, hasHeader);
+    }
+
+    /**
+     * Creates a reader for fixed-width records.
+     *
+     * @param offset the byte offset of the date within each record
+     * @param hasHeader true if the first line is a header to skip
+     * @return a new DateColumnReader
+     * @throws IllegalArgumentException if the offset is negative
+     */
+    public static DateColumnReader fixedWidth(int offset, boolean hasHeader) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("Offset must not be negative: " + offset);
+        }
+        return new DateColumnReader(-1, (byte) 0, offset, hasHeader);
+    }
+
+    /**
+     * Reads the date field of every record on the calling thread.
+     *
+     * @param file the file to read
+     * @return the day numbers, or DateParser error codes, in record order
+     * @throws IOException if the file cannot be read or a line exceeds 1GB
+     */
+    public int[] read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long start = firstRecord(channel);
+            return readRegion(channel, start, channel.size());
+        }
+    }
+
+    /**
+     * Reads the date field of every record in parallel chunks split on line boundaries.
+     * The result is identical to read().
+     *
+     * @param file the file to read
+     * @param pool the pool to parse chunks on
+     * @param chunks the number of chunks to split the file into
+     * @return the day numbers, or DateParser error codes, in record order
+     * @throws IOException if the file cannot be read or a line exceeds 1GB
+     */
+    public int[] readParallel(Path file, ForkJoinPool pool, int chunks) throws IOException {
+        if (chunks < 1) {
+            throw new IllegalArgumentException("Chunk count must be positive: " + chunks);
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long start = firstRecord(channel);
+            long size = channel.size();
+
+            long[] bounds = new long[chunks + 1];
+            bounds[0] = start;
+            for (int i = 1; i < chunks; i++) {
+                long guess = Math.max(bounds[i - 1], start + (size - start) * i / chunks);
+                bounds[i] = nextLineStart(channel, guess, size);
+            }
+            bounds[chunks] = size;
+
+            List<ForkJoinTask<int[]>> tasks = new ArrayList<>(chunks);
+            for (int i = 0; i < chunks; i++) {
+                long from = bounds[i];
+                long to = bounds[i + 1];
+                tasks.add(pool.submit(() -> readRegion(channel, from, to)));
+            }
+
+            int[][] parts = new int[chunks][];
+            int total = 0;
+            for (int i = 0; i < chunks; i++) {
+                parts[i] = join(tasks.get(i));
+                total += parts[i].length;
+            }
+            int[] result = new int[total];
+            int position = 0;
+            for (int[] part : parts) {
+                System.arraycopy(part, 0, result, position, part.length);
+                position += part.length;
+            }
+            return result;
+        }
+    }
+
+    // Private helpers
+
+    /**
+     * Parses every record in [from, to), where from is at the start of a line
+     * and to is at the end of the file or just after a newline.
+     */
+    private int[] readRegion(FileChannel channel, long from, long to) throws IOException {
+        int[] values = new int[1024];
+        int count = 0;
+        long position = from;
+        while (position < to) {
+            long length = Math.min(MAX_SEGMENT, to - position);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+            int limit = (int) length;
+
+            // Only complete lines are processed unless this segment reaches the end
+            int end = limit;
+            if (position + length < to) {
+                end = lastNewline(buffer, limit) + 1;
+                if (end == 0) {
+                    throw new IOException("Line longer than " + MAX_SEGMENT + " bytes at offset " + position);
+                }
+            }
+
+            int lineStart = 0;
+            while (lineStart < end) {
+                int lineEnd = lineStart;
+                while (lineEnd < end && buffer.get(lineEnd) != NEWLINE) {
+                    lineEnd++;
+                }
+                int next = lineEnd + 1;
+                if (lineEnd > lineStart && buffer.get(lineEnd - 1) == CARRIAGE_RETURN) {
+                    lineEnd--;
+                }
+                if (lineEnd > lineStart) {
+                    if (count == values.length) {
+                        values = Arrays.copyOf(values, count * 2);
+                    }
+                    values[count++] = parseRecord(buffer, lineStart, lineEnd);
+                }
+                lineStart = next;
+            }
+            position += end;
+        }
+        return Arrays.copyOf(values, count);
+    }
+
+    /**
+     * Locates the date field of the record [start, end) and parses it.
+     */
+    private int parseRecord(MappedByteBuffer buffer, int start, int end) {
+        if (fieldIndex < 0) {
+            int fieldStart = start + fixedOffset;
+            int length = Math.min(DateFormatter.FORMATTED_LENGTH, end - fieldStart);
+            return length < 0 ? DateParser.ERROR_LENGTH : DateParser.parse(buffer, fieldStart, length);
+        }
+
+        int fieldStart = start;
+        for (int field = 0; field < fieldIndex; field++) {
+            while (fieldStart < end && buffer.get(fieldStart) != delimiter) {
+                fieldStart++;
+            }
+            if (fieldStart == end) {
+                return DateParser.ERROR_LENGTH;
+            }
+            fieldStart++;
+        }
+        int fieldEnd = fieldStart;
+        while (fieldEnd < end && buffer.get(fieldEnd) != delimiter) {
+            fieldEnd++;
+        }
+        return DateParser.parse(buffer, fieldStart, fieldEnd - fieldStart);
+    }
+
+    /**
+     * @return the position of the first record, after the header line if there is one
+     */
+    private long firstRecord(FileChannel channel) throws IOException {
+        return hasHeader ? nextLineStart(channel, 0, channel.size()) : 0;
+    }
+
+    /**
+     * @return the position just after the first newline at or after from, or size if there is none
+     */
+    private static long nextLineStart(FileChannel channel, long from, long size) throws IOException {
+        long position = from;
+        while (position < size) {
+            long length = Math.min(MAX_SEGMENT, size - position);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+            for (int i = 0; i < length; i++) {
+                if (buffer.get(i) == NEWLINE) {
+                    return position + i + 1;
+                }
+            }
+            position += length;
+        }
+        return size;
+    }
+
+    private static int lastNewline(MappedByteBuffer buffer, int limit) {
+        for (int i = limit - 1; i >= 0; i--) {
+            if (buffer.get(i) == NEWLINE) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int[] join(ForkJoinTask<int[]> task) throws IOException {
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while reading", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException("Failed to read chunk", e.getCause());
+        }
+    }
+}
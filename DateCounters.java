@@ -0,0 +1,213 @@
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The DateCounters class is a set of lock-free per-day counters for concurrent
+ * event ingestion, indexed by day number over a fixed window of days.
+ * 
+ * Each counter is split into stripes; a writer adds to the cell of the stripe its
+ * thread hashes to, so threads counting the same hot day rarely touch the same
+ * cache line. Writers never block: an update costs a few atomic operations on
+ * memory owned mostly by its stripe.
+ * 
+ * Reading a value with get() sums the stripes while writers keep going, like
+ * LongAdder.sum(). snapshot() goes further and returns totals for every day as of
+ * a single instant: cells are kept in two generations, a snapshot switches writers
+ * to the other generation, waits for updates still in flight on the old one, and
+ * then reads it while it can no longer change. Snapshots are serialized with each
+ * other but never stop writers.
+ * 
+ * @author Shimon Esterkin (@SemionVlad)
+ * @version 2023B
+ */
+public class DateCounters {
+    // Longs between in-flight counters of neighbouring stripes (two cache lines)
+    private static final int PADDING = 16;
+
+    // Largest array length every JVM can allocate
+    private static final int MAX_ARRAY_LENGTH = Integer.MAX_VALUE - 8;
+
+    private final int start;
+    private final int end;
+    private final int days;
+    private final int stripes;
+    private final int stripeShift;
+
+    /** Cells laid out as [generation parity][stripe][day]. */
+    private final AtomicLongArray cells;
+
+    /** Updates in progress, laid out as [generation parity][stripe], padded. */
+    private final AtomicLongArray inFlight;
+
+    /** Copy of each parity's cells as of the moment it last stopped changing. */
+    private final long[][] frozen;
+
+    private volatile int generation;
+
+    /**
+     * Constructs a new DateCounters with one stripe per available processor.
+     *
+     * @param window the days that can be counted
+     * @throws IllegalArgumentException if the window needs more cells than an array can hold
+     */
+    public DateCounters(DateRange window) {
+        this(window, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructs a new DateCounters.
+     * The number of stripes is rounded up to a power of two.
+     *
+     * @param window the days that can be counted
+     * @param stripes the number of cells per day
+     * @throws IllegalArgumentException if stripes is not positive, or if the window
+     *         and stripe count need more cells than an array can hold
+     */
+    public DateCounters(DateRange window, int stripes) {
+        if (stripes < 1) {
+            throw new IllegalArgumentException("Stripe count must be positive: " + stripes);
+        }
+        int size = 1;
+        while (size < stripes && size < (1 << 16)) {
+            size <<= 1;
+        }
+        long cellCount = 2L * size * window.length();
+        if (cellCount > MAX_ARRAY_LENGTH) {
+            throw new IllegalArgumentException("Too many cells for " + window.length() + " days and "
+                                               + size + " stripes: " + cellCount);
+        }
+        this.start = window.getStartEpochDay();
+        this.end = window.getEndEpochDay();
+        this.days = window.length();
+        this.stripes = size;
+        this.stripeShift = 32 - Integer.numberOfTrailingZeros(size);
+        this.cells = new AtomicLongArray((int) cellCount);
+        this.inFlight = new AtomicLongArray(2 * size * PADDING);
+        this.frozen = new long[][] {new long[size * days], new long[size * days]};
+    }
+
+    /**
+     * @return the days that can be counted
+     */
+    public DateRange getWindow() {
+        return DateRange.ofEpochDays(start, end);
+    }
+
+    // Updates
+
+    /**
+     * Adds one to the counter of a date.
+     *
+     * @param date the day to count
+     * @throws IllegalArgumentException if the date is outside the window
+     */
+    public void increment(Date date) {
+        addEpochDay(date.toEpochDay(), 1);
+    }
+
+    /**
+     * Adds a delta to the counter of a date.
+     *
+     * @param date the day to count
+     * @param delta the amount to add
+     * @throws IllegalArgumentException if the date is outside the window
+     */
+    public void add(Date date, long delta) {
+        addEpochDay(date.toEpochDay(), delta);
+    }
+
+    /**
+     * Adds a delta to the counter of a day number.
+     *
+     * @param epochDay the day number to count
+     * @param delta the amount to add
+     * @throws IllegalArgumentException if the day is outside the window
+     */
+    public void addEpochDay(int epochDay, long delta) {
+        if (epochDay < start || epochDay >= end) {
+            String day = Date.isValidEpochDay(epochDay) ? Date.fromEpochDay(epochDay).toString()
+                                                        : "Day number " + epochDay;
+            throw new IllegalArgumentException(day + " is outside " + getWindow());
+        }
+        int stripe = stripe();
+        int day = epochDay - start;
+        while (true) {
+            int parity = generation & 1;
+            int guard = (parity * stripes + stripe) * PADDING;
+            inFlight.incrementAndGet(guard);
+            if ((generation & 1) == parity) {
+                cells.getAndAdd((parity * stripes + stripe) * days + day, delta);
+                inFlight.decrementAndGet(guard);
+                return;
+            }
+            // A snapshot switched generations meanwhile; retry on the new one
+            inFlight.decrementAndGet(guard);
+        }
+    }
+
+    // Reads
+
+    /**
+     * Returns the current count of a date, summed over stripes while writers
+     * keep going. Updates made concurrently may or may not be included.
+     *
+     * @param date the day to read
+     * @return the count, or 0 if the date is outside the window
+     */
+    public long get(Date date) {
+        int epochDay = date.toEpochDay();
+        if (epochDay < start || epochDay >= end) {
+            return 0;
+        }
+        int day = epochDay - start;
+        long sum = 0;
+        for (int i = day; i < cells.length(); i += days) {
+            sum += cells.get(i);
+        }
+        return sum;
+    }
+
+    /**
+     * Returns the count of every day of the window as of a single instant:
+     * each update is either fully included or not at all.
+     *
+     * @return the counts, one per day of the window in order
+     */
+    public synchronized long[] snapshot() {
+        int old = generation & 1;
+        generation++;
+
+        // Wait for updates that started on the old generation to finish
+        for (int stripe = 0; stripe < stripes; stripe++) {
+            int guard = (old * stripes + stripe) * PADDING;
+            while (inFlight.get(guard) != 0) {
+                Thread.onSpinWait();
+            }
+        }
+
+        // The old cells are now stable, and the current ones have not changed
+        // since they were frozen at the previous snapshot
+        long[] stable = frozen[old];
+        int base = old * stripes * days;
+        for (int i = 0; i < stable.length; i++) {
+            stable[i] = cells.get(base + i);
+        }
+        long[] other = frozen[old ^ 1];
+        long[] totals = new long[days];
+        for (int i = 0; i < stable.length; i++) {
+            totals[i % days] += stable[i] + other[i];
+        }
+        return totals;
+    }
+
+    // Private helpers
+
+    /**
+     * @return the stripe of the calling thread
+     */
+    private int stripe() {
+        if (stripes == 1) {
+            return 0;
+        }
+        return ((int) Thread.currentThread().getId() * 0x9E3779B9) >>> stripeShift;
+    }
+}
@@ -0,0 +1,200 @@
+/**
+ * The DateCursor class is a reusable, mutable position in the calendar for tight
+ * sequential loops. It advances in place by a day, a week, a month or any number
+ * of days, and exposes its day, month, year and day number without allocating.
+ * 
+ * The cursor keeps both the components and the day number. Stepping by a day or a
+ * week only touches the components and rolls over months and years using the
+ * precomputed month-length tables, so a daily simulation loop runs without
+ * creating garbage and without revalidating each date.
+ * 
+ * Like the Date setters, a move that would leave the supported range
+ * (01/01/0000 to 31/12/9999) is ignored: the method returns false and the cursor
+ * stays where it was.
+ * 
+ * This class is not thread-safe.
+ * 
+ * @author Shimon Esterkin (@SemionVlad)
+ * @version 2023B
+ */
+public class DateCursor {
+    private int day;
+    private int month;
+    private int year;
+    private int epochDay;
+
+    /**
+     * Constructs a new DateCursor positioned at the given date.
+     *
+     * @param start the initial position
+     */
+    public DateCursor(Date start) {
+        moveToEpochDay(start.toEpochDay());
+    }
+
+    // Getters
+
+    /**
+     * @return the day of the month
+     */
+    public int getDay() {
+        return day;
+    }
+
+    /**
+     * @return the month (1-12)
+     */
+    public int getMonth() {
+        return month;
+    }
+
+    /**
+     * @return the year
+     */
+    public int getYear() {
+        return year;
+    }
+
+    /**
+     * @return the day number of the current position (01/01/0000 is day 1)
+     */
+    public int toEpochDay() {
+        return epochDay;
+    }
+
+    /**
+     * @return a new Date for the current position
+     */
+    public Date toDate() {
+        return Date.fromEpochDay(epochDay);
+    }
+
+    // Positioning
+
+    /**
+     * Moves the cursor to the given date.
+     *
+     * @param date the new position
+     */
+    public void moveTo(Date date) {
+        moveToEpochDay(date.toEpochDay());
+    }
+
+    /**
+     * Moves the cursor to the given day number, if it is a valid date.
+     *
+     * @param epochDayToSet the new position
+     * @return true if the cursor moved
+     */
+    public boolean moveToEpochDay(int epochDayToSet) {
+        if (!Date.isValidEpochDay(epochDayToSet)) {
+            return false;
+        }
+        int packed = Date.decodeDate(epochDayToSet);
+        day = packed & 31;
+        month = packed >> 5 & 15;
+        year = packed >> 9;
+        epochDay = epochDayToSet;
+        return true;
+    }
+
+    /**
+     * Advances the cursor to the next day.
+     *
+     * @return true if the cursor moved
+     */
+    public boolean nextDay() {
+        if (day < Date.monthLength(month, year)) {
+            day++;
+        } else if (month < 12) {
+            day = 1;
+            month++;
+        } else if (year < 9999) {
+            day = 1;
+            month = 1;
+            year++;
+        } else {
+            return false;
+        }
+        epochDay++;
+        return true;
+    }
+
+    /**
+     * Advances the cursor by seven days.
+     *
+     * @return true if the cursor moved
+     */
+    public boolean nextWeek() {
+        int length = Date.monthLength(month, year);
+        if (day + 7 <= length) {
+            day += 7;
+            epochDay += 7;
+            return true;
+        }
+        if (month == 12 && year == 9999) {
+            return false;
+        }
+        // A week crosses at most one month boundary
+        day += 7 - length;
+        if (month < 12) {
+            month++;
+        } else {
+            month = 1;
+            year++;
+        }
+        epochDay += 7;
+        return true;
+    }
+
+    /**
+     * Advances the cursor to the same day of the next month. If that month is
+     * shorter, the cursor stops at its last day (31/01 moves to 28/02 or 29/02).
+     *
+     * @return true if the cursor moved
+     */
+    public boolean nextMonth() {
+        int nextMonth = month < 12 ? month + 1 : 1;
+        int nextYear = month < 12 ? year : year + 1;
+        if (nextYear > 9999) {
+            return false;
+        }
+        day = Math.min(day, Date.monthLength(nextMonth, nextYear));
+        month = nextMonth;
+        year = nextYear;
+        epochDay = Date.calculateDate(day, month, year);
+        return true;
+    }
+
+    /**
+     * Moves the cursor by any number of days.
+     *
+     * @param days the number of days to move (may be negative)
+     * @return true if the cursor moved
+     */
+    public boolean advanceDays(int days) {
+        int target = day + days;
+        if (target >= 1 && target <= Date.monthLength(month, year)) {
+            day = target;
+            epochDay += days;
+            return true;
+        }
+        long epochDayToSet = (long) epochDay + days;
+        if (!Date.isValidEpochDay(epochDayToSet)) {
+            return false;
+        }
+        return moveToEpochDay((int) epochDayToSet);
+    }
+
+    /**
+     * Returns a string representation of the position in DD/MM/YYYY format.
+     *
+     * @return formatted string representation of the position
+     */
+    @Override
+    public String toString() {
+        char[] buffer = new char[DateFormatter.FORMATTED_LENGTH];
+        DateFormatter.format(epochDay, buffer, 0);
+        return new String(buffer);
+    }
+}
@@ -0,0 +1,128 @@
+import java.nio.ByteBuffer;
+
+/**
+ * The DateFormatter class writes dates in the DD/MM/YYYY form used by
+ * Date.toString() directly into caller-supplied buffers.
+ * 
+ * Every method takes a day number as returned by Date.toEpochDay(), writes exactly
+ * FORMATTED_LENGTH characters starting at the given offset and returns the offset
+ * just past the written text. No intermediate objects are created, so the methods
+ * can be used on export paths that format millions of dates.
+ * 
+ * The day number must lie in the range supported by Date (01/01/0000 to 31/12/9999).
+ * 
+ * @author Shimon Esterkin (@SemionVlad)
+ * @version 2023B
+ */
+public final class DateFormatter {
+    /** Number of characters in a formatted date. */
+    public static final int FORMATTED_LENGTH = 10;
+
+    private static final char SEPARATOR = '/';
+
+    private DateFormatter() {
+    }
+
+    /**
+     * Writes a date into a byte array as ASCII.
+     *
+     * @param epochDay the day number of the date
+     * @param dst the destination array
+     * @param offset the index of the first byte to write
+     * @return the index just past the written date
+     */
+    public static int format(int epochDay, byte[] dst, int offset) {
+        int packed = Date.decodeDate(epochDay);
+        int day = packed & 31;
+        int month = packed >> 5 & 15;
+        int year = packed >> 9;
+        dst[offset] = (byte) ('0' + day / 10);
+        dst[offset + 1] = (byte) ('0' + day % 10);
+        dst[offset + 2] = (byte) SEPARATOR;
+        dst[offset + 3] = (byte) ('0' + month / 10);
+        dst[offset + 4] = (byte) ('0' + month % 10);
+        dst[offset + 5] = (byte) SEPARATOR;
+        dst[offset + 6] = (byte) ('0' + year / 1000);
+        dst[offset + 7] = (byte) ('0' + year / 100 % 10);
+        dst[offset + 8] = (byte) ('0' + year / 10 % 10);
+        dst[offset + 9] = (byte) ('0' + year % 10);
+        return offset + FORMATTED_LENGTH;
+    }
+
+    /**
+     * Writes a date into a char array.
+     *
+     * @param epochDay the day number of the date
+     * @param dst the destination array
+     * @param offset the index of the first char to write
+     * @return the index just past the written date
+     */
+    public static int format(int epochDay, char[] dst, int offset) {
+        int packed = Date.decodeDate(epochDay);
+        int day = packed & 31;
+        int month = packed >> 5 & 15;
+        int year = packed >> 9;
+        dst[offset] = (char) ('0' + day / 10);
+        dst[offset + 1] = (char) ('0' + day % 10);
+        dst[offset + 2] = SEPARATOR;
+        dst[offset + 3] = (char) ('0' + month / 10);
+        dst[offset + 4] = (char) ('0' + month % 10);
+        dst[offset + 5] = SEPARATOR;
+        dst[offset + 6] = (char) ('0' + year / 1000);
+        dst[offset + 7] = (char) ('0' + year / 100 % 10);
+        dst[offset + 8] = (char) ('0' + year / 10 % 10);
+        dst[offset + 9] = (char) ('0' + year % 10);
+        return offset + FORMATTED_LENGTH;
+    }
+
+    /**
+     * Writes a date into a ByteBuffer as ASCII using absolute puts,
+     * so the buffer's position is left unchanged.
+     *
+     * @param epochDay the day number of the date
+     * @param dst the destination buffer
+     * @param index the buffer index of the first byte to write
+     * @return the index just past the written date
+     */
+    public static int format(int epochDay, ByteBuffer dst, int index) {
+        int packed = Date.decodeDate(epochDay);
+        int day = packed & 31;
+        int month = packed >> 5 & 15;
+        int year = packed >> 9;
+        dst.put(index, (byte) ('0' + day / 10));
+        dst.put(index + 1, (byte) ('0' + day % 10));
+        dst.put(index + 2, (byte) SEPARATOR);
+        dst.put(index + 3, (byte) ('0' + month / 10));
+        dst.put(index + 4, (byte) ('0' + month % 10));
+        dst.put(index + 5, (byte) SEPARATOR);
+        dst.put(index + 6, (byte) ('0' + year / 1000));
+        dst.put(index + 7, (byte) ('0' + year / 100 % 10));
+        dst.put(index + 8, (byte) ('0' + year / 10 % 10));
+        dst.put(index + 9, (byte) ('0' + year % 10));
+        return index + FORMATTED_LENGTH;
+    }
+
+    /**
+     * Appends a date to a StringBuilder.
+     *
+     * @param epochDay the day number of the date
+     * @param dst the builder to append to
+     * @return the builder, for chaining
+     */
+    public static StringBuilder format(int epochDay, StringBuilder dst) {
+        int packed = Date.decodeDate(epochDay);
+        int day = packed & 31;
+        int month = packed >> 5 & 15;
+        int year = packed >> 9;
+        return dst.append((char) ('0' + day / 10))
+                  .append((char) ('0' + day % 10))
+                  .append(SEPARATOR)
+                  .append((char) ('0' + month / 10))
+                  .append((char) ('0' + month % 10))
+                  .append(SEPARATOR)
+                  .append((char) ('0' + year / 1000))
+                  .append((char) ('0' + year / 100 % 10))
+                  .append((char) ('0' + year / 10 % 10))
+                  .append((char) ('0' + year % 10));
+    }
+}
@@ -0,0 +1,156 @@
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The DateInterner class is a bounded, thread-safe canonicalizing factory that
+ * returns shared ImmutableDate instances for dates it has already seen.
+ * 
+ * The cache is direct-mapped: a date lives in the slot selected by the low bits of
+ * its day number, so consecutive days never collide until the window of dates in use
+ * exceeds the capacity. When two dates do map to the same slot, the newer one
+ * replaces (evicts) the older one. Lookups and insertions are lock-free, and
+ * hit, miss and eviction counts are kept in contention-friendly counters.
+ * 
+ * Insertions use compare-and-set, so threads racing to intern the same day all
+ * return the single instance that won the slot, and only the winner counts a miss.
+ * 
+ * @author Shimon Esterkin (@SemionVlad)
+ * @version 2023B
+ */
+public class DateInterner {
+    private static final int DEFAULT_CAPACITY = 1 << 12;
+    private static final int MAX_CAPACITY = 1 << 22;
+
+    private final AtomicReferenceArray<ImmutableDate> slots;
+    private final int mask;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Constructs a new DateInterner with room for 4096 dates.
+     */
+    public DateInterner() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs a new DateInterner.
+     * The capacity is rounded up to a power of two, at most 2^22 (the whole date range).
+     *
+     * @param capacity the number of dates the cache can hold
+     * @throws IllegalArgumentException if the capacity is not positive
+     */
+    public DateInterner(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        int size = 1;
+        while (size < capacity && size < MAX_CAPACITY) {
+            size <<= 1;
+        }
+        slots = new AtomicReferenceArray<>(size);
+        mask = size - 1;
+    }
+
+    /**
+     * Returns the shared instance for the given day number.
+     * If the day number is outside the supported range, returns 01/01/2000.
+     *
+     * @param epochDay the day number on the Date.toEpochDay() scale
+     * @return the canonical ImmutableDate for that day
+     */
+    public ImmutableDate intern(int epochDay) {
+        if (!Date.isValidEpochDay(epochDay)) {
+            epochDay = Date.DEFAULT_EPOCH_DAY;
+        }
+        int slot = epochDay & mask;
+        ImmutableDate created = null;
+        while (true) {
+            ImmutableDate cached = slots.get(slot);
+            if (cached != null && cached.toEpochDay() == epochDay) {
+                hits.increment();
+                return cached;
+            }
+            if (created == null) {
+                created = ImmutableDate.fromEpochDay(epochDay);
+            }
+            if (slots.compareAndSet(slot, cached, created)) {
+                misses.increment();
+                if (cached != null) {
+                    evictions.increment();
+                }
+                return created;
+            }
+            // Another thread changed the slot first: return its instance if it holds this day
+        }
+    }
+
+    /**
+     * Returns the shared instance for the given date components.
+     * If the date is invalid, returns 01/01/2000.
+     *
+     * @param day the day of the month
+     * @param month the month (1-12)
+     * @param year the year
+     * @return the canonical ImmutableDate for that date
+     */
+    public ImmutableDate intern(int day, int month, int year) {
+        return intern(Date.verifyDate(day, month, year)
+                ? Date.calculateDate(day, month, year)
+                : Date.DEFAULT_EPOCH_DAY);
+    }
+
+    /**
+     * Returns the shared instance holding the current value of a Date.
+     *
+     * @param date the date to look up
+     * @return the canonical ImmutableDate for that date
+     */
+    public ImmutableDate intern(Date date) {
+        return intern(date.toEpochDay());
+    }
+
+    // Statistics
+
+    /**
+     * @return the number of slots in the cache
+     */
+    public int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * @return the number of lookups answered from the cache
+     */
+    public long hits() {
+        return hits.sum();
+    }
+
+    /**
+     * @return the number of lookups that created a new instance
+     */
+    public long misses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return the number of cached instances replaced by another date
+     */
+    public long evictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * Removes every cached instance and resets the counters.
+     */
+    public void clear() {
+        for (int i = 0; i <= mask; i++) {
+            slots.set(i, null);
+        }
+        hits.reset();
+        misses.reset();
+        evictions.reset();
+    }
+}
@@ -0,0 +1,398 @@
+/**
+ * The DateKernels class provides bulk kernels over columns of packed dates, that is
+ * int arrays of day numbers as returned by Date.toEpochDay().
+ * 
+ * Every kernel has two implementations:
+ * - DateVectorKernels, written with the jdk.incubator.vector API: lane-wise
+ *   subtraction, comparisons whose masks become the bitmask words directly,
+ *   min/max lane reductions, blends for the range checks, and the calendar fields
+ *   computed lane-wise with the division-free Date formulas in 32-bit lanes
+ * - the scalar loops in this class, used for the elements left over after the last
+ *   full vector, and for whole columns when the vector kernels are unavailable
+ * 
+ * DateVectorKernels is only compiled by the Maven build (library/src/vector/java,
+ * with --add-modules jdk.incubator.vector) and is loaded reflectively when this
+ * class initializes. The scalar loops run alone when the class is missing (e.g.
+ * after javac *.java), when the JVM was started without
+ * --add-modules jdk.incubator.vector, or when the system property
+ * date.kernels.vector is set to false. isVectorized() tells which is in use.
+ * 
+ * Apart from countValid and plusDays, inputs must hold valid day numbers; they
+ * are not validated. The package-private range variants are the leaves used by
+ * DateParallel.
+ * 
+ * @author Shimon Esterkin (@SemionVlad)
+ * @version 2023B
+ */
+public final class DateKernels {
+    /** System property that disables the vector kernels when set to false. */
+    public static final String VECTOR_PROPERTY = "date.kernels.vector";
+
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+    private static final String VECTOR_CLASS = "DateVectorKernels";
+
+    // The vector kernels, or null when only the scalar loops are available
+    private static final Accelerator VECTOR = loadAccelerator();
+
+    private DateKernels() {
+    }
+
+    /**
+     * @return true if the kernels run on the Vector API, false if they run the scalar loops only
+     */
+    public static boolean isVectorized() {
+        return VECTOR != null;
+    }
+
+    /**
+     * Calculates result[i] = a[i] - b[i], the difference() of each pair of dates.
+     *
+     * @param a the first column
+     * @param b the second column
+     * @param result receives the differences
+     * @throws IllegalArgumentException if the arrays differ in length
+     */
+    public static void difference(int[] a, int[] b, int[] result) {
+        checkSameLength(a, b, result.length);
+        difference(a, b, result, 0, a.length);
+    }
+
+    /**
+     * Sets bit i of the mask (bit i % 64 of word i / 64) when a[i] comes before b[i].
+     *
+     * @param a the first column
+     * @param b the second column
+     * @param mask receives the comparison bits; needs (a.length + 63) / 64 words
+     * @throws IllegalArgumentException if the columns differ in length or the mask is too short
+     */
+    public static void before(int[] a, int[] b, long[] mask) {
+        checkMask(a, b, mask);
+        int fullWords = a.length >> 6;
+        int w = 0;
+        if (VECTOR != null) {
+            VECTOR.before(a, b, mask, fullWords);
+            w = fullWords;
+        }
+        for (; w < fullWords; w++) {
+            int base = w << 6;
+            long word = 0;
+            for (int j = 0; j < 64; j++) {
+                word |= (a[base + j] < b[base + j] ? 1L : 0L) << j;
+            }
+            mask[w] = word;
+        }
+        if ((a.length & 63) != 0) {
+            int base = fullWords << 6;
+            long word = 0;
+            for (int j = 0; base + j < a.length; j++) {
+                word |= (a[base + j] < b[base + j] ? 1L : 0L) << j;
+            }
+            mask[fullWords] = word;
+        }
+    }
+
+    /**
+     * Sets bit i of the mask (bit i % 64 of word i / 64) when a[i] comes after b[i].
+     *
+     * @param a the first column
+     * @param b the second column
+     * @param mask receives the comparison bits; needs (a.length + 63) / 64 words
+     * @throws IllegalArgumentException if the columns differ in length or the mask is too short
+     */
+    public static void after(int[] a, int[] b, long[] mask) {
+        before(b, a, mask);
+    }
+
+    /**
+     * Finds the earliest date of a column.
+     *
+     * @param a the column
+     * @return the smallest day number
+     * @throws IllegalArgumentException if the column is empty
+     */
+    public static int min(int[] a) {
+        checkNotEmpty(a);
+        return min(a, 0, a.length);
+    }
+
+    /**
+     * Finds the latest date of a column.
+     *
+     * @param a the column
+     * @return the largest day number
+     * @throws IllegalArgumentException if the column is empty
+     */
+    public static int max(int[] a) {
+        checkNotEmpty(a);
+        return max(a, 0, a.length);
+    }
+
+    /**
+     * Calculates result[i] = src[i] shifted by the given number of days.
+     * As with DateArray.plusDays(), elements that are invalid or would leave the
+     * supported range become 01/01/2000.
+     *
+     * @param src the column to shift
+     * @param days the number of days to add (may be negative)
+     * @param result receives the shifted dates; may be src itself
+     * @throws IllegalArgumentException if the arrays differ in length
+     */
+    public static void plusDays(int[] src, int days, int[] result) {
+        checkSameLength(src, src, result.length);
+        plusDays(src, days, result, 0, src.length);
+    }
+
+    /**
+     * Counts the elements that hold a valid day number.
+     *
+     * @param a the column
+     * @return the number of valid elements
+     */
+    public static int countValid(int[] a) {
+        return countValid(a, 0, a.length);
+    }
+
+    /**
+     * Calculates result[i] = the ISO day of week (1 = Monday) of a[i].
+     *
+     * @param a the column
+     * @param result receives the days of week
+     * @throws IllegalArgumentException if the arrays differ in length
+     */
+    public static void dayOfWeek(int[] a, int[] result) {
+        checkSameLength(a, a, result.length);
+        int i = 0;
+        if (VECTOR != null) {
+            i = vectorEnd(0, a.length);
+            VECTOR.dayOfWeek(a, result, 0, i);
+        }
+        for (; i < a.length; i++) {
+            result[i] = Date.dayOfWeekOf(a[i]);
+        }
+    }
+
+    /**
+     * Calculates result[i] = the day of the year of a[i].
+     *
+     * @param a the column
+     * @param result receives the days of the year
+     * @throws IllegalArgumentException if the arrays differ in length
+     */
+    public static void dayOfYear(int[] a, int[] result) {
+        checkSameLength(a, a, result.length);
+        int i = 0;
+        if (VECTOR != null) {
+            i = vectorEnd(0, a.length);
+            VECTOR.dayOfYear(a, result, 0, i);
+        }
+        for (; i < a.length; i++) {
+            result[i] = Date.dayOfYearOf(a[i]);
+        }
+    }
+
+    /**
+     * Calculates result[i] = the ISO-8601 week number of a[i].
+     *
+     * @param a the column
+     * @param result receives the week numbers
+     * @throws IllegalArgumentException if the arrays differ in length
+     */
+    public static void isoWeek(int[] a, int[] result) {
+        checkSameLength(a, a, result.length);
+        int i = 0;
+        if (VECTOR != null) {
+            i = vectorEnd(0, a.length);
+            VECTOR.isoWeek(a, result, 0, i);
+        }
+        for (; i < a.length; i++) {
+            result[i] = Date.isoWeekOf(a[i]);
+        }
+    }
+
+    /**
+     * Counts the elements falling on each day of the week.
+     *
+     * @param a the column
+     * @return seven counts, Monday at index 0 through Sunday at index 6
+     */
+    public static int[] dayOfWeekHistogram(int[] a) {
+        int[] counts = new int[7];
+        int i = 0;
+        if (VECTOR != null) {
+            i = vectorEnd(0, a.length);
+            VECTOR.dayOfWeekHistogram(a, counts, 0, i);
+        }
+        for (; i < a.length; i++) {
+            counts[Date.dayOfWeekOf(a[i]) - 1]++;
+        }
+        return counts;
+    }
+
+    // Range kernels over [from, to)
+
+    static void difference(int[] a, int[] b, int[] result, int from, int to) {
+        int i = from;
+        if (VECTOR != null) {
+            i = vectorEnd(from, to);
+            VECTOR.difference(a, b, result, from, i);
+        }
+        for (; i < to; i++) {
+            result[i] = a[i] - b[i];
+        }
+    }
+
+    static int min(int[] a, int from, int to) {
+        int min = Integer.MAX_VALUE;
+        int i = from;
+        if (VECTOR != null) {
+            i = vectorEnd(from, to);
+            min = VECTOR.min(a, from, i);
+        }
+        for (; i < to; i++) {
+            min = Math.min(min, a[i]);
+        }
+        return min;
+    }
+
+    static int max(int[] a, int from, int to) {
+        int max = Integer.MIN_VALUE;
+        int i = from;
+        if (VECTOR != null) {
+            i = vectorEnd(from, to);
+            max = VECTOR.max(a, from, i);
+        }
+        for (; i < to; i++) {
+            max = Math.max(max, a[i]);
+        }
+        return max;
+    }
+
+    static void plusDays(int[] src, int days, int[] result, int from, int to) {
+        long low = Math.max(Date.MIN_EPOCH_DAY, (long) Date.MIN_EPOCH_DAY - days);
+        long high = Math.min(Date.MAX_EPOCH_DAY, (long) Date.MAX_EPOCH_DAY - days);
+        int i = from;
+        if (VECTOR != null) {
+            i = vectorEnd(from, to);
+            VECTOR.plusDays(src, days, result, from, i);
+        }
+        for (; i < to; i++) {
+            int epochDay = src[i];
+            result[i] = epochDay >= low && epochDay <= high ? epochDay + days : Date.DEFAULT_EPOCH_DAY;
+        }
+    }
+
+    static int countValid(int[] a, int from, int to) {
+        int count = 0;
+        int i = from;
+        if (VECTOR != null) {
+            i = vectorEnd(from, to);
+            count = VECTOR.countValid(a, from, i);
+        }
+        for (; i < to; i++) {
+            if (Date.isValidEpochDay(a[i])) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    static int firstInvalid(int[] a, int from, int to) {
+        int i = from;
+        if (VECTOR != null) {
+            i = vectorEnd(from, to);
+            int first = VECTOR.firstInvalid(a, from, i);
+            if (first >= 0) {
+                return first;
+            }
+        }
+        for (; i < to; i++) {
+            if (!Date.isValidEpochDay(a[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // Vector kernels
+
+    /**
+     * The operations DateVectorKernels implements. Each one covers only [from, to)
+     * with to - from a multiple of lanes() (before() covers whole 64-bit words); the
+     * DateKernels method of the same name finishes the remaining elements.
+     */
+    interface Accelerator {
+        /**
+         * @return the number of int lanes per vector
+         */
+        int lanes();
+
+        void difference(int[] a, int[] b, int[] result, int from, int to);
+
+        void before(int[] a, int[] b, long[] mask, int words);
+
+        int min(int[] a, int from, int to);
+
+        int max(int[] a, int from, int to);
+
+        void plusDays(int[] src, int days, int[] result, int from, int to);
+
+        int countValid(int[] a, int from, int to);
+
+        int firstInvalid(int[] a, int from, int to);
+
+        void dayOfWeek(int[] a, int[] result, int from, int to);
+
+        void dayOfYear(int[] a, int[] result, int from, int to);
+
+        void isoWeek(int[] a, int[] result, int from, int to);
+
+        void dayOfWeekHistogram(int[] a, int[] counts, int from, int to);
+    }
+
+    /**
+     * Loads DateVectorKernels if it was compiled in and its module is available.
+     *
+     * @return the vector kernels, or null to use the scalar loops only
+     */
+    private static Accelerator loadAccelerator() {
+        if (!Boolean.parseBoolean(System.getProperty(VECTOR_PROPERTY, "true"))
+                || ModuleLayer.boot().findModule(VECTOR_MODULE).isEmpty()) {
+            return null;
+        }
+        try {
+            return (Accelerator) Class.forName(VECTOR_CLASS).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return the end of the part of [from, to) made of whole vectors
+     */
+    private static int vectorEnd(int from, int to) {
+        return to - (to - from) % VECTOR.lanes();
+    }
+
+    // Private helpers
+
+    private static void checkSameLength(int[] a, int[] b, int resultLength) {
+        if (a.length != b.length || resultLength != a.length) {
+            throw new IllegalArgumentException("Columns and result must have the same size");
+        }
+    }
+
+    private static void checkMask(int[] a, int[] b, long[] mask) {
+        if (a.length != b.length) {
+            throw new IllegalArgumentException("Columns must have the same size");
+        }
+        if (mask.length < (a.length + 63) >> 6) {
+            throw new IllegalArgumentException("Mask needs " + ((a.length + 63) >> 6) + " words");
+        }
+    }
+
+    private static void checkNotEmpty(int[] a) {
+        if (a.length == 0) {
+            throw new IllegalArgumentException("Column is empty");
+        }
+    }
+}
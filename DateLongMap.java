@@ -0,0 +1,307 @@
+import java.util.Arrays;
+
+/**
+ * The DateLongMap class is a hash map from dates to long values that stores its entries in
+ * primitive arrays, so neither keys nor values are boxed and no object is allocated
+ * per entry.
+ * 
+ * Keys are day numbers on the Date.toEpochDay() scale; the methods taking a Date use
+ * its day number. The table uses open addressing with linear probing; day number 0
+ * is never a valid date, so it marks empty slots. The table doubles once it is half
+ * full, and removal shifts later entries back instead of leaving tombstones.
+ * 
+ * This class is not thread-safe.
+ * 
+ * @author Shimon Esterkin (@SemionVlad)
+ * @version 2023B
+ */
+public class DateLongMap {
+    private static final int EMPTY = 0;
+    private static final int MIN_CAPACITY = 16;
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    /**
+     * Receives the entries of the map during iteration.
+     */
+    public interface EntryConsumer {
+        /**
+         * @param epochDay the day number of the key
+         * @param value the value mapped to it
+         */
+        void accept(int epochDay, long value);
+    }
+
+    private int[] keys;
+    private long[] values;
+    private int size;
+    private int shift;
+
+    /**
+     * Constructs a new, empty DateLongMap.
+     */
+    public DateLongMap() {
+        this(MIN_CAPACITY / 2);
+    }
+
+    /**
+     * Constructs a new, empty DateLongMap sized to hold the given number of entries
+     * without resizing.
+     *
+     * @param expectedSize the expected number of entries
+     */
+    public DateLongMap(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity / 2 < expectedSize && capacity < MAX_CAPACITY) {
+            capacity <<= 1;
+        }
+        allocate(capacity);
+    }
+
+    /**
+     * @return the number of entries in the map
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return true if the map has no entries
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Checks whether the map has an entry for the given day.
+     *
+     * @param epochDay the day number of the key
+     * @return true if the key is present
+     */
+    public boolean containsKey(int epochDay) {
+        return indexOf(epochDay) >= 0;
+    }
+
+    /**
+     * Checks whether the map has an entry for the given date.
+     *
+     * @param date the key
+     * @return true if the key is present
+     */
+    public boolean containsKey(Date date) {
+        return containsKey(date.toEpochDay());
+    }
+
+    /**
+     * Returns the value mapped to the given day.
+     *
+     * @param epochDay the day number of the key
+     * @param defaultValue the value to return if the key is absent
+     * @return the mapped value, or defaultValue
+     */
+    public long get(int epochDay, long defaultValue) {
+        int index = indexOf(epochDay);
+        return index < 0 ? defaultValue : values[index];
+    }
+
+    /**
+     * Returns the value mapped to the given date.
+     *
+     * @param date the key
+     * @param defaultValue the value to return if the key is absent
+     * @return the mapped value, or defaultValue
+     */
+    public long get(Date date, long defaultValue) {
+        return get(date.toEpochDay(), defaultValue);
+    }
+
+    /**
+     * Maps the given day to a value, replacing any previous value.
+     *
+     * @param epochDay the day number of the key
+     * @param value the value to store
+     * @return the previous value, or 0 if the key was absent
+     * @throws IllegalArgumentException if the day number is not a valid date
+     */
+    public long put(int epochDay, long value) {
+        int index = insertionIndex(epochDay);
+        long previous = values[index];
+        values[index] = value;
+        return previous;
+    }
+
+    /**
+     * Maps the given date to a value, replacing any previous value.
+     *
+     * @param date the key
+     * @param value the value to store
+     * @return the previous value, or 0 if the key was absent
+     */
+    public long put(Date date, long value) {
+        return put(date.toEpochDay(), value);
+    }
+
+    /**
+     * Adds a delta to the value mapped to the given day, starting from zero if
+     * the key is absent.
+     *
+     * @param epochDay the day number of the key
+     * @param delta the amount to add
+     * @return the new value
+     * @throws IllegalArgumentException if the day number is not a valid date
+     */
+    public long addTo(int epochDay, long delta) {
+        int index = insertionIndex(epochDay);
+        return values[index] += delta;
+    }
+
+    /**
+     * Adds a delta to the value mapped to the given date, starting from zero if
+     * the key is absent.
+     *
+     * @param date the key
+     * @param delta the amount to add
+     * @return the new value
+     */
+    public long addTo(Date date, long delta) {
+        return addTo(date.toEpochDay(), delta);
+    }
+
+    /**
+     * Removes the entry for the given day, if present.
+     *
+     * @param epochDay the day number of the key
+     * @return true if an entry was removed
+     */
+    public boolean remove(int epochDay) {
+        int index = indexOf(epochDay);
+        if (index < 0) {
+            return false;
+        }
+
+        // Shift back later entries of the probe chain into the gap
+        int mask = keys.length - 1;
+        int gap = index;
+        int i = (index + 1) & mask;
+        while (keys[i] != EMPTY) {
+            int home = slotOf(keys[i]);
+            if (((i - home) & mask) >= ((i - gap) & mask)) {
+                keys[gap] = keys[i];
+                values[gap] = values[i];
+                gap = i;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[gap] = EMPTY;
+        values[gap] = 0L;
+        size--;
+        return true;
+    }
+
+    /**
+     * Removes the entry for the given date, if present.
+     *
+     * @param date the key
+     * @return true if an entry was removed
+     */
+    public boolean remove(Date date) {
+        return remove(date.toEpochDay());
+    }
+
+    /**
+     * Removes every entry from the map.
+     */
+    public void clear() {
+        Arrays.fill(keys, EMPTY);
+        Arrays.fill(values, 0L);
+        size = 0;
+    }
+
+    /**
+     * Passes every entry to the consumer, in no particular order.
+     *
+     * @param consumer receives each day number and its value
+     */
+    public void forEach(EntryConsumer consumer) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != EMPTY) {
+                consumer.accept(keys[i], values[i]);
+            }
+        }
+    }
+
+    // Private helpers
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new long[capacity];
+        shift = Integer.numberOfLeadingZeros(capacity) + 1;
+    }
+
+    private int slotOf(int epochDay) {
+        return (epochDay * 0x9E3779B9) >>> shift;
+    }
+
+    /**
+     * @return the slot holding the key, or -1 if it is absent
+     */
+    private int indexOf(int epochDay) {
+        if (epochDay == EMPTY) {
+            return -1;
+        }
+        int mask = keys.length - 1;
+        for (int i = slotOf(epochDay); ; i = (i + 1) & mask) {
+            int key = keys[i];
+            if (key == epochDay) {
+                return i;
+            }
+            if (key == EMPTY) {
+                return -1;
+            }
+        }
+    }
+
+    /**
+     * Finds the slot for a key, claiming an empty slot if the key is absent.
+     * The table is doubled first when it is already half full.
+     *
+     * @return the slot holding the key
+     */
+    private int insertionIndex(int epochDay) {
+        if (!Date.isValidEpochDay(epochDay)) {
+            throw new IllegalArgumentException("Not a valid day number: " + epochDay);
+        }
+        int mask = keys.length - 1;
+        int i = slotOf(epochDay);
+        while (keys[i] != EMPTY) {
+            if (keys[i] == epochDay) {
+                return i;
+            }
+            i = (i + 1) & mask;
+        }
+        if (size >= keys.length / 2 && keys.length < MAX_CAPACITY) {
+            rehash(keys.length << 1);
+            return insertionIndex(epochDay);
+        }
+        keys[i] = epochDay;
+        size++;
+        return i;
+    }
+
+    private void rehash(int capacity) {
+        int[] oldKeys = keys;
+        long[] oldValues = values;
+        allocate(capacity);
+        int mask = capacity - 1;
+        for (int j = 0; j < oldKeys.length; j++) {
+            int key = oldKeys[j];
+            if (key != EMPTY) {
+                int i = slotOf(key);
+                while (keys[i] != EMPTY) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = key;
+                values[i] = oldValues[j];
+            }
+        }
+    }
+}
@@ -0,0 +1,272 @@
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * The DateParallel class runs bulk operations over large packed-date columns
+ * (int arrays of day numbers) on a ForkJoinPool.
+ * 
+ * A column is split in halves until a piece is no longer than the threshold; each
+ * piece is then processed sequentially by the DateKernels loops, so a good
+ * threshold keeps one piece within a core's cache. Columns no longer than the
+ * threshold are processed on the calling thread without involving the pool.
+ * 
+ * Every operation produces exactly the same result as its sequential DateKernels
+ * or DateArray counterpart: element-wise operations write disjoint ranges, and
+ * reductions combine per-piece results with associative operators.
+ * 
+ * @author Shimon Esterkin (@SemionVlad)
+ * @version 2023B
+ */
+public class DateParallel {
+    /** Default piece size: 64K day numbers, 256KB of int data. */
+    public static final int DEFAULT_THRESHOLD = 1 << 16;
+
+    private final ForkJoinPool pool;
+    private final int threshold;
+
+    /**
+     * Constructs a new DateParallel using the common pool and the default threshold.
+     */
+    public DateParallel() {
+        this(ForkJoinPool.commonPool(), DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * Constructs a new DateParallel.
+     *
+     * @param pool the pool to run tasks on
+     * @param threshold the largest piece processed sequentially
+     * @throws IllegalArgumentException if the threshold is not positive
+     */
+    public DateParallel(ForkJoinPool pool, int threshold) {
+        if (threshold < 1) {
+            throw new IllegalArgumentException("Threshold must be positive: " + threshold);
+        }
+        this.pool = pool;
+        this.threshold = threshold;
+    }
+
+    /**
+     * @return the largest piece processed sequentially
+     */
+    public int getThreshold() {
+        return threshold;
+    }
+
+    // Validation
+
+    /**
+     * Counts the elements that hold a valid day number.
+     *
+     * @param a the column
+     * @return the number of valid elements
+     */
+    public int countValid(int[] a) {
+        return reduce(a, Reduction.COUNT_VALID);
+    }
+
+    /**
+     * Finds the first element that is not a valid day number.
+     *
+     * @param a the column
+     * @return the index of the first invalid element, or -1 if all are valid
+     */
+    public int firstInvalid(int[] a) {
+        return reduce(a, Reduction.FIRST_INVALID);
+    }
+
+    // Element-wise operations
+
+    /**
+     * Calculates result[i] = a[i] - b[i], the difference() of each pair of dates.
+     *
+     * @param a the first column
+     * @param b the second column
+     * @param result receives the differences
+     * @throws IllegalArgumentException if the arrays differ in length
+     */
+    public void difference(int[] a, int[] b, int[] result) {
+        if (a.length != b.length || result.length != a.length) {
+            throw new IllegalArgumentException("Columns and result must have the same size");
+        }
+        invoke(new ElementWise(a, b, 0, result, 0, a.length), a.length);
+    }
+
+    /**
+     * Calculates result[i] = src[i] shifted by the given number of days, with the
+     * same out-of-range handling as DateKernels.plusDays().
+     *
+     * @param src the column to shift
+     * @param days the number of days to add (may be negative)
+     * @param result receives the shifted dates; may be src itself
+     * @throws IllegalArgumentException if the arrays differ in length
+     */
+    public void plusDays(int[] src, int days, int[] result) {
+        if (result.length != src.length) {
+            throw new IllegalArgumentException("Column and result must have the same size");
+        }
+        invoke(new ElementWise(src, null, days, result, 0, src.length), src.length);
+    }
+
+    // Aggregation
+
+    /**
+     * Finds the earliest date of a column.
+     *
+     * @param a the column
+     * @return the smallest day number
+     * @throws IllegalArgumentException if the column is empty
+     */
+    public int min(int[] a) {
+        checkNotEmpty(a);
+        return reduce(a, Reduction.MIN);
+    }
+
+    /**
+     * Finds the latest date of a column.
+     *
+     * @param a the column
+     * @return the largest day number
+     * @throws IllegalArgumentException if the column is empty
+     */
+    public int max(int[] a) {
+        checkNotEmpty(a);
+        return reduce(a, Reduction.MAX);
+    }
+
+    // Tasks
+
+    /**
+     * Writes difference (when b is set) or plusDays (when b is null) over [from, to).
+     * Tasks are never serialized, so they declare no serialVersionUID.
+     */
+    @SuppressWarnings("serial")
+    private class ElementWise extends RecursiveAction {
+        private final int[] a;
+        private final int[] b;
+        private final int days;
+        private final int[] result;
+        private final int from;
+        private final int to;
+
+        ElementWise(int[] a, int[] b, int days, int[] result, int from, int to) {
+            this.a = a;
+            this.b = b;
+            this.days = days;
+            this.result = result;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= threshold) {
+                if (b != null) {
+                    DateKernels.difference(a, b, result, from, to);
+                } else {
+                    DateKernels.plusDays(a, days, result, from, to);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new ElementWise(a, b, days, result, from, middle),
+                      new ElementWise(a, b, days, result, middle, to));
+        }
+    }
+
+    /**
+     * Reduces [from, to) to a single int with one of the supported operations,
+     * kept in a primitive field rather than returned as a boxed Integer.
+     * Tasks are never serialized, so they declare no serialVersionUID.
+     */
+    @SuppressWarnings("serial")
+    private class Reduction extends RecursiveAction {
+        static final int COUNT_VALID = 0;
+        static final int FIRST_INVALID = 1;
+        static final int MIN = 2;
+        static final int MAX = 3;
+
+        private final int[] a;
+        private final int from;
+        private final int to;
+        private final int operation;
+        private int result;
+
+        Reduction(int[] a, int from, int to, int operation) {
+            this.a = a;
+            this.from = from;
+            this.to = to;
+            this.operation = operation;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= threshold) {
+                switch (operation) {
+                    case COUNT_VALID:
+                        result = DateKernels.countValid(a, from, to);
+                        break;
+                    case FIRST_INVALID:
+                        result = DateKernels.firstInvalid(a, from, to);
+                        break;
+                    case MIN:
+                        result = DateKernels.min(a, from, to);
+                        break;
+                    default:
+                        result = DateKernels.max(a, from, to);
+                        break;
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            Reduction left = new Reduction(a, from, middle, operation);
+            Reduction right = new Reduction(a, middle, to, operation);
+            right.fork();
+            left.compute();
+            right.join();
+            switch (operation) {
+                case COUNT_VALID:
+                    result = left.result + right.result;
+                    break;
+                case FIRST_INVALID:
+                    result = left.result >= 0 ? left.result : right.result;
+                    break;
+                case MIN:
+                    result = Math.min(left.result, right.result);
+                    break;
+                default:
+                    result = Math.max(left.result, right.result);
+                    break;
+            }
+        }
+    }
+
+    // Private helpers
+
+    /**
+     * Runs small columns directly on the calling thread and larger ones on the pool.
+     */
+    private void invoke(ForkJoinTask<?> task, int length) {
+        if (length <= threshold) {
+            task.invoke();
+        } else {
+            pool.invoke(task);
+        }
+    }
+
+    /**
+     * Runs a whole-column reduction and returns its result.
+     */
+    private int reduce(int[] a, int operation) {
+        Reduction task = new Reduction(a, 0, a.length, operation);
+        invoke(task, a.length);
+        return task.result;
+    }
+
+    private static void checkNotEmpty(int[] a) {
+        if (a.length == 0) {
+            throw new IllegalArgumentException("Column is empty");
+        }
+    }
+}
@@ -0,0 +1,138 @@
+import java.nio.ByteBuffer;
+
+/**
+ * The DateParser class reads dates in the DD/MM/YYYY form produced by
+ * Date.toString() directly from byte[], ByteBuffer or CharSequence slices.
+ * 
+ * Parsing never throws and never falls back to a default date. Each method returns
+ * either the day number of the parsed date (as used by Date.toEpochDay(), always
+ * positive) or one of the negative error codes below, so a bad input row can be
+ * detected with a single sign check:
+ * - ERROR_LENGTH: the slice is not exactly ten characters long
+ * - ERROR_SYNTAX: a digit or a '/' separator is missing
+ * - ERROR_INVALID_DATE: the fields are well formed but fail Date validation
+ * 
+ * @author Shimon Esterkin (@SemionVlad)
+ * @version 2023B
+ */
+public final class DateParser {
+    /** The slice does not have the length of a DD/MM/YYYY date. */
+    public static final int ERROR_LENGTH = -1;
+
+    /** The slice contains a non-digit where a digit belongs, or a wrong separator. */
+    public static final int ERROR_SYNTAX = -2;
+
+    /** The day, month and year are well formed but do not form a valid date. */
+    public static final int ERROR_INVALID_DATE = -3;
+
+    private static final int SEPARATOR = '/';
+
+    private DateParser() {
+    }
+
+    /**
+     * Checks whether a parse result is an error code.
+     *
+     * @param result the value returned by a parse method
+     * @return true if the result is an error code rather than a day number
+     */
+    public static boolean isError(int result) {
+        return result < 0;
+    }
+
+    /**
+     * Parses an ASCII date from a byte array slice.
+     *
+     * @param src the source array
+     * @param offset the index of the first byte of the date
+     * @param length the number of bytes in the slice
+     * @return the day number of the date, or a negative error code
+     */
+    public static int parse(byte[] src, int offset, int length) {
+        if (length != DateFormatter.FORMATTED_LENGTH) {
+            return ERROR_LENGTH;
+        }
+        return parseFields(src[offset], src[offset + 1], src[offset + 2],
+                           src[offset + 3], src[offset + 4], src[offset + 5],
+                           src[offset + 6], src[offset + 7], src[offset + 8], src[offset + 9]);
+    }
+
+    /**
+     * Parses an ASCII date from a ByteBuffer slice using absolute gets,
+     * so the buffer's position is left unchanged.
+     *
+     * @param src the source buffer
+     * @param index the buffer index of the first byte of the date
+     * @param length the number of bytes in the slice
+     * @return the day number of the date, or a negative error code
+     */
+    public static int parse(ByteBuffer src, int index, int length) {
+        if (length != DateFormatter.FORMATTED_LENGTH) {
+            return ERROR_LENGTH;
+        }
+        return parseFields(src.get(index), src.get(index + 1), src.get(index + 2),
+                           src.get(index + 3), src.get(index + 4), src.get(index + 5),
+                           src.get(index + 6), src.get(index + 7), src.get(index + 8), src.get(index + 9));
+    }
+
+    /**
+     * Parses a date from a CharSequence slice without creating a substring.
+     *
+     * @param src the source characters
+     * @param offset the index of the first character of the date
+     * @param length the number of characters in the slice
+     * @return the day number of the date, or a negative error code
+     */
+    public static int parse(CharSequence src, int offset, int length) {
+        if (length != DateFormatter.FORMATTED_LENGTH) {
+            return ERROR_LENGTH;
+        }
+        return parseFields(src.charAt(offset), src.charAt(offset + 1), src.charAt(offset + 2),
+                           src.charAt(offset + 3), src.charAt(offset + 4), src.charAt(offset + 5),
+                           src.charAt(offset + 6), src.charAt(offset + 7), src.charAt(offset + 8), src.charAt(offset + 9));
+    }
+
+    /**
+     * Parses a whole CharSequence as a date.
+     *
+     * @param src the source characters
+     * @return the day number of the date, or a negative error code
+     */
+    public static int parse(CharSequence src) {
+        return parse(src, 0, src.length());
+    }
+
+    /**
+     * Decodes the ten characters of a DD/MM/YYYY date and validates the result
+     * with the same rules as the Date constructor.
+     *
+     * @return the day number of the date, or a negative error code
+     */
+    private static int parseFields(int d1, int d2, int s1, int m1, int m2, int s2,
+                                   int y1, int y2, int y3, int y4) {
+        d1 -= '0';
+        d2 -= '0';
+        m1 -= '0';
+        m2 -= '0';
+        y1 -= '0';
+        y2 -= '0';
+        y3 -= '0';
+        y4 -= '0';
+
+        // A digit outside 0-9 makes either it or 9 minus it negative
+        int bad = d1 | d2 | m1 | m2 | y1 | y2 | y3 | y4 |
+                  (9 - d1) | (9 - d2) | (9 - m1) | (9 - m2) |
+                  (9 - y1) | (9 - y2) | (9 - y3) | (9 - y4);
+        if (bad < 0 || s1 != SEPARATOR || s2 != SEPARATOR) {
+            return ERROR_SYNTAX;
+        }
+
+        int day = d1 * 10 + d2;
+        int month = m1 * 10 + m2;
+        int year = ((y1 * 10 + y2) * 10 + y3) * 10 + y4;
+        if (!Date.verifyDate(day, month, year)) {
+            return ERROR_INVALID_DATE;
+        }
+        return Date.calculateDate(day, month, year);
+    }
+}
@@ -0,0 +1,98 @@
+/**
+ * The DatePrefixSums class answers range-sum queries over a fixed daily series of
+ * long values in constant time.
+ * 
+ * It stores the running total of the series at the start of every day of a window,
+ * so the total between any two dates is one subtraction. Query bounds outside the
+ * window are clamped to it. Use DateSeriesIndex instead while the series is still
+ * changing.
+ * 
+ * Instances are immutable and can be shared between threads.
+ * 
+ * @author Shimon Esterkin (@SemionVlad)
+ * @version 2023B
+ */
+public final class DatePrefixSums {
+    private final int start;
+    private final int end;
+    private final long[] prefix;
+
+    /**
+     * Constructs a new DatePrefixSums.
+     *
+     * @param window the days covered by the series
+     * @param dailyValues the value of each day of the window, in order
+     * @throws IllegalArgumentException if the number of values differs from the window length
+     */
+    public DatePrefixSums(DateRange window, long[] dailyValues) {
+        if (dailyValues.length != window.length()) {
+            throw new IllegalArgumentException("Expected " + window.length() +
+                                               " daily values, got " + dailyValues.length);
+        }
+        this.start = window.getStartEpochDay();
+        this.end = window.getEndEpochDay();
+        this.prefix = new long[dailyValues.length + 1];
+        for (int i = 0; i < dailyValues.length; i++) {
+            prefix[i + 1] = prefix[i] + dailyValues[i];
+        }
+    }
+
+    /**
+     * @return the days covered by the series
+     */
+    public DateRange getWindow() {
+        return DateRange.ofEpochDays(start, end);
+    }
+
+    /**
+     * Returns the value of a single day.
+     *
+     * @param date the day to read
+     * @return the day's value, or 0 if it is outside the window
+     */
+    public long get(Date date) {
+        int epochDay = date.toEpochDay();
+        return sum(epochDay, epochDay + 1);
+    }
+
+    /**
+     * Sums the values of the days from one date (inclusive) to another (exclusive).
+     *
+     * @param from the first day summed
+     * @param to the day after the last day summed
+     * @return the total over [from, to), or 0 if the range is empty
+     */
+    public long sum(Date from, Date to) {
+        return sum(from.toEpochDay(), to.toEpochDay());
+    }
+
+    /**
+     * Sums the values of the days in a range.
+     *
+     * @param range the days to sum
+     * @return the total over the range
+     */
+    public long sum(DateRange range) {
+        return sum(range.getStartEpochDay(), range.getEndEpochDay());
+    }
+
+    /**
+     * Sums the values of the days in [fromEpochDay, toEpochDay).
+     *
+     * @param fromEpochDay the day number of the first day summed
+     * @param toEpochDay the day number after the last day summed
+     * @return the total, or 0 if the range is empty
+     */
+    public long sum(int fromEpochDay, int toEpochDay) {
+        int from = clamp(fromEpochDay);
+        int to = clamp(toEpochDay);
+        return to <= from ? 0 : prefix[to] - prefix[from];
+    }
+
+    /**
+     * @return the offset of a day number from the window start, clamped to [0, n]
+     */
+    private int clamp(int epochDay) {
+        return epochDay <= start ? 0 : Math.min(epochDay, end) - start;
+    }
+}
@@ -0,0 +1,326 @@
+import java.util.Comparator;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * The DateRange class represents an immutable period of consecutive days, from a
+ * start date (inclusive) to an end date (exclusive).
+ * 
+ * The end bound may be MAX_END_EPOCH_DAY, the day after 31/12/9999, so that a
+ * range can include the last supported date; closed() builds such ranges from
+ * Dates, since no Date represents that end bound.
+ * 
+ * A range is stored as two day numbers on the Date.toEpochDay() scale, so length,
+ * containment, overlap and intersection are integer operations. Iteration is
+ * offered two ways:
+ * - stream()/spliterator(): Date objects, through a SIZED and SUBSIZED spliterator
+ *   that splits exactly in half, so parallel streams over long ranges stay balanced
+ * - epochDays(): an IntStream of day numbers that allocates nothing per day
+ * 
+ * @author Shimon Esterkin (@SemionVlad)
+ * @version 2023B
+ */
+public final class DateRange {
+    /** The largest end bound: the day number after 31/12/9999. */
+    public static final int MAX_END_EPOCH_DAY = Date.MAX_EPOCH_DAY + 1;
+
+    private final int start;
+    private final int end;
+
+    /**
+     * Constructs a new DateRange.
+     *
+     * @param start the first day of the range
+     * @param end the day after the last day of the range
+     * @throws IllegalArgumentException if end is before start
+     */
+    public DateRange(Date start, Date end) {
+        this(start.toEpochDay(), end.toEpochDay());
+    }
+
+    private DateRange(int start, int end) {
+        if (end < start) {
+            throw new IllegalArgumentException("End " + Date.fromEpochDay(end) +
+                                               " is before start " + Date.fromEpochDay(start));
+        }
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     * Creates a DateRange from day numbers on the Date.toEpochDay() scale.
+     *
+     * @param start the day number of the first day (inclusive)
+     * @param end the day number after the last day (exclusive), at most MAX_END_EPOCH_DAY
+     * @return a new DateRange
+     * @throws IllegalArgumentException if end is before start or either bound is outside
+     *         the valid day numbers and MAX_END_EPOCH_DAY
+     */
+    public static DateRange ofEpochDays(int start, int end) {
+        if (!isBound(start) || !isBound(end)) {
+            throw new IllegalArgumentException("Bounds outside the supported date range: " +
+                                               start + ", " + end);
+        }
+        return new DateRange(start, end);
+    }
+
+    /**
+     * Creates the DateRange from one date through another, both inclusive.
+     * Unlike the constructor, this can build a range that includes 31/12/9999.
+     *
+     * @param first the first day of the range
+     * @param last the last day of the range
+     * @return a new DateRange of the days from first to last
+     * @throws IllegalArgumentException if last is before first
+     */
+    public static DateRange closed(Date first, Date last) {
+        return new DateRange(first.toEpochDay(), last.toEpochDay() + 1);
+    }
+
+    // Getters
+
+    /**
+     * @return a new Date for the first day of the range
+     */
+    public Date getStart() {
+        return Date.fromEpochDay(start);
+    }
+
+    /**
+     * @return a new Date for the day after the last day of the range
+     * @throws IllegalStateException if the range ends at MAX_END_EPOCH_DAY, which no
+     *         Date can represent; use getLast() or getEndEpochDay() instead
+     */
+    public Date getEnd() {
+        if (end == MAX_END_EPOCH_DAY) {
+            throw new IllegalStateException("Range " + this + " ends after the last supported date");
+        }
+        return Date.fromEpochDay(end);
+    }
+
+    /**
+     * @return a new Date for the last day of the range (inclusive)
+     * @throws IllegalStateException if the range is empty
+     */
+    public Date getLast() {
+        if (isEmpty()) {
+            throw new IllegalStateException("Empty range has no last day");
+        }
+        return Date.fromEpochDay(end - 1);
+    }
+
+    /**
+     * @return the day number of the first day (inclusive)
+     */
+    public int getStartEpochDay() {
+        return start;
+    }
+
+    /**
+     * @return the day number after the last day (exclusive)
+     */
+    public int getEndEpochDay() {
+        return end;
+    }
+
+    /**
+     * @return the number of days in the range
+     */
+    public int length() {
+        return end - start;
+    }
+
+    /**
+     * @return true if the range has no days
+     */
+    public boolean isEmpty() {
+        return start == end;
+    }
+
+    // Range operations
+
+    /**
+     * Checks if a date lies in the range.
+     *
+     * @param date the date to check
+     * @return true if start <= date < end
+     */
+    public boolean contains(Date date) {
+        return containsEpochDay(date.toEpochDay());
+    }
+
+    /**
+     * Checks if a day number lies in the range.
+     *
+     * @param epochDay the day number to check
+     * @return true if start <= epochDay < end
+     */
+    public boolean containsEpochDay(int epochDay) {
+        return epochDay >= start && epochDay < end;
+    }
+
+    /**
+     * Checks if this range shares at least one day with another range.
+     *
+     * @param other the range to compare with
+     * @return true if the ranges overlap
+     */
+    public boolean overlaps(DateRange other) {
+        return start < other.end && other.start < end;
+    }
+
+    /**
+     * Returns the days common to this range and another range.
+     * If the ranges do not overlap, the result is empty.
+     *
+     * @param other the range to intersect with
+     * @return the intersection
+     */
+    public DateRange intersect(DateRange other) {
+        int low = Math.max(start, other.start);
+        int high = Math.min(end, other.end);
+        return new DateRange(low, Math.max(low, high));
+    }
+
+    // Iteration
+
+    /**
+     * @return an IntStream of the day numbers in the range, in order
+     */
+    public IntStream epochDays() {
+        return IntStream.range(start, end);
+    }
+
+    /**
+     * @return a sequential stream of the dates in the range, in order
+     */
+    public Stream<Date> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * @return a parallel stream of the dates in the range
+     */
+    public Stream<Date> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+    /**
+     * @return a spliterator over the dates in the range
+     */
+    public Spliterator<Date> spliterator() {
+        return new DaySpliterator(start, end);
+    }
+
+    /**
+     * Spliterator over [from, to) that splits at the midpoint.
+     */
+    private static final class DaySpliterator implements Spliterator<Date> {
+        private int from;
+        private final int to;
+
+        DaySpliterator(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Date> action) {
+            if (from >= to) {
+                return false;
+            }
+            action.accept(Date.fromEpochDay(from++));
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super Date> action) {
+            int current = from;
+            from = to;
+            for (; current < to; current++) {
+                action.accept(Date.fromEpochDay(current));
+            }
+        }
+
+        @Override
+        public Spliterator<Date> trySplit() {
+            int middle = (from + to) >>> 1;
+            if (middle <= from) {
+                return null;
+            }
+            DaySpliterator prefix = new DaySpliterator(from, middle);
+            from = middle;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return to - from;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | DISTINCT | SORTED | NONNULL | IMMUTABLE | SIZED | SUBSIZED;
+        }
+
+        @Override
+        public Comparator<? super Date> getComparator() {
+            // Dates are Comparable, so null means natural order
+            return null;
+        }
+    }
+
+    // Object methods
+
+    /**
+     * Checks if this range equals another object.
+     *
+     * @param other the object to compare with
+     * @return true if other is a DateRange with the same bounds
+     */
+    @Override
+    public boolean equals(Object other) {
+        if (!(other instanceof DateRange)) {
+            return false;
+        }
+        DateRange range = (DateRange) other;
+        return start == range.start && end == range.end;
+    }
+
+    /**
+     * @return a hash code derived from both bounds
+     */
+    @Override
+    public int hashCode() {
+        return 31 * start + end;
+    }
+
+    /**
+     * Returns a string representation of the range as [DD/MM/YYYY, DD/MM/YYYY), or as
+     * [DD/MM/YYYY, 31/12/9999] when it ends at MAX_END_EPOCH_DAY.
+     *
+     * @return formatted string representation of the range
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder(2 * DateFormatter.FORMATTED_LENGTH + 4);
+        builder.append('[');
+        DateFormatter.format(start, builder).append(", ");
+        if (end == MAX_END_EPOCH_DAY) {
+            return DateFormatter.format(Date.MAX_EPOCH_DAY, builder).append(']').toString();
+        }
+        return DateFormatter.format(end, builder).append(')').toString();
+    }
+
+    // Private helpers
+
+    /**
+     * @return true if epochDay is a valid day number or MAX_END_EPOCH_DAY
+     */
+    private static boolean isBound(int epochDay) {
+        return Date.isValidEpochDay(epochDay) || epochDay == MAX_END_EPOCH_DAY;
+    }
+}
@@ -0,0 +1,177 @@
+/**
+ * The DateSeriesIndex class answers "what total between date A and date B" over a
+ * daily series of long values, such as event counts, while the series is being
+ * updated.
+ * 
+ * The series covers a fixed window of days given as a DateRange and is stored as a
+ * Fenwick (binary indexed) tree indexed by day number relative to the window start,
+ * so both point updates and range sums take O(log n) time for a window of n days.
+ * Query bounds outside the window are clamped to it, since days outside it hold
+ * nothing. For a series that no longer changes, snapshot() produces a
+ * DatePrefixSums that answers range sums in O(1).
+ * 
+ * This class is not thread-safe.
+ * 
+ * @author Shimon Esterkin (@SemionVlad)
+ * @version 2023B
+ */
+public class DateSeriesIndex {
+    private final int start;
+    private final int end;
+    private final long[] tree;
+
+    /**
+     * Constructs a new DateSeriesIndex with every day of the window at zero.
+     *
+     * @param window the days covered by the series
+     */
+    public DateSeriesIndex(DateRange window) {
+        this.start = window.getStartEpochDay();
+        this.end = window.getEndEpochDay();
+        this.tree = new long[window.length() + 1];
+    }
+
+    /**
+     * Constructs a new DateSeriesIndex from daily values in O(n).
+     *
+     * @param window the days covered by the series
+     * @param dailyValues the value of each day of the window, in order
+     * @throws IllegalArgumentException if the number of values differs from the window length
+     */
+    public DateSeriesIndex(DateRange window, long[] dailyValues) {
+        this(window);
+        if (dailyValues.length != window.length()) {
+            throw new IllegalArgumentException("Expected " + window.length() +
+                                               " daily values, got " + dailyValues.length);
+        }
+        int n = dailyValues.length;
+        System.arraycopy(dailyValues, 0, tree, 1, n);
+        for (int i = 1; i <= n; i++) {
+            int parent = i + (i & -i);
+            if (parent <= n) {
+                tree[parent] += tree[i];
+            }
+        }
+    }
+
+    /**
+     * @return the days covered by the series
+     */
+    public DateRange getWindow() {
+        return DateRange.ofEpochDays(start, end);
+    }
+
+    // Updates
+
+    /**
+     * Adds a delta to the value of a day.
+     *
+     * @param date the day to update
+     * @param delta the amount to add
+     * @throws IllegalArgumentException if the date is outside the window
+     */
+    public void add(Date date, long delta) {
+        addEpochDay(date.toEpochDay(), delta);
+    }
+
+    /**
+     * Adds a delta to the value of a day.
+     *
+     * @param epochDay the day number to update
+     * @param delta the amount to add
+     * @throws IllegalArgumentException if the day is outside the window
+     */
+    public void addEpochDay(int epochDay, long delta) {
+        if (epochDay < start || epochDay >= end) {
+            String day = Date.isValidEpochDay(epochDay) ? Date.fromEpochDay(epochDay).toString()
+                                                        : "Day number " + epochDay;
+            throw new IllegalArgumentException(day + " is outside " + getWindow());
+        }
+        for (int i = epochDay - start + 1; i < tree.length; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    // Queries
+
+    /**
+     * Returns the value of a single day.
+     *
+     * @param date the day to read
+     * @return the day's value, or 0 if it is outside the window
+     */
+    public long get(Date date) {
+        int epochDay = date.toEpochDay();
+        return sum(epochDay, epochDay + 1);
+    }
+
+    /**
+     * Sums the values of the days from one date (inclusive) to another (exclusive).
+     *
+     * @param from the first day summed
+     * @param to the day after the last day summed
+     * @return the total over [from, to), or 0 if the range is empty
+     */
+    public long sum(Date from, Date to) {
+        return sum(from.toEpochDay(), to.toEpochDay());
+    }
+
+    /**
+     * Sums the values of the days in a range.
+     *
+     * @param range the days to sum
+     * @return the total over the range
+     */
+    public long sum(DateRange range) {
+        return sum(range.getStartEpochDay(), range.getEndEpochDay());
+    }
+
+    /**
+     * Sums the values of the days in [fromEpochDay, toEpochDay).
+     *
+     * @param fromEpochDay the day number of the first day summed
+     * @param toEpochDay the day number after the last day summed
+     * @return the total, or 0 if the range is empty
+     */
+    public long sum(int fromEpochDay, int toEpochDay) {
+        int from = clamp(fromEpochDay);
+        int to = clamp(toEpochDay);
+        return to <= from ? 0 : prefix(to) - prefix(from);
+    }
+
+    /**
+     * Creates an O(1) range-sum index holding the current values.
+     *
+     * @return a new DatePrefixSums
+     */
+    public DatePrefixSums snapshot() {
+        long[] dailyValues = new long[end - start];
+        long previous = 0;
+        for (int i = 0; i < dailyValues.length; i++) {
+            long current = prefix(i + 1);
+            dailyValues[i] = current - previous;
+            previous = current;
+        }
+        return new DatePrefixSums(getWindow(), dailyValues);
+    }
+
+    // Private helpers
+
+    /**
+     * @return the sum of the first count days of the window
+     */
+    private long prefix(int count) {
+        long sum = 0;
+        for (int i = count; i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+
+    /**
+     * @return the offset of a day number from the window start, clamped to [0, n]
+     */
+    private int clamp(int epochDay) {
+        return epochDay <= start ? 0 : Math.min(epochDay, end) - start;
+    }
+}
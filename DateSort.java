@@ -0,0 +1,129 @@
+import java.util.Arrays;
+
+/**
+ * The DateSort class sorts packed-date columns (int arrays of day numbers) with an
+ * LSD radix sort instead of comparisons.
+ * 
+ * Keys are taken relative to the column minimum and processed in 11-bit digits.
+ * Every valid day number fits in 22 bits, so a column of dates sorts in two
+ * counting passes whatever its size; a column of arbitrary ints takes at most
+ * three. The digit histograms are all gathered in a single pass over the input.
+ * 
+ * The sort is stable, which argsort() relies on: it returns the permutation that
+ * sorts the column, so that accompanying row data can be reordered the same way.
+ * 
+ * @author Shimon Esterkin (@SemionVlad)
+ * @version 2023B
+ */
+public final class DateSort {
+    private static final int DIGIT_BITS = 11;
+    private static final int RADIX = 1 << DIGIT_BITS;
+    private static final int DIGIT_MASK = RADIX - 1;
+
+    // Below this size a comparison sort is faster than clearing the histograms
+    private static final int SMALL_SIZE = 256;
+
+    private DateSort() {
+    }
+
+    /**
+     * Sorts a column in ascending (chronological) order.
+     *
+     * @param epochDays the column to sort in place
+     */
+    public static void sort(int[] epochDays) {
+        if (epochDays.length < SMALL_SIZE) {
+            Arrays.sort(epochDays);
+            return;
+        }
+        radixSort(epochDays, null);
+    }
+
+    /**
+     * Computes the permutation that sorts a column without modifying it.
+     * Equal dates keep their original relative order.
+     *
+     * @param epochDays the column to order
+     * @return indices such that epochDays[order[0]], epochDays[order[1]], ... is ascending
+     */
+    public static int[] argsort(int[] epochDays) {
+        int[] keys = epochDays.clone();
+        int[] order = new int[keys.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        radixSort(keys, order);
+        return order;
+    }
+
+    /**
+     * Sorts keys in place, moving the entries of indices (if not null) along with them.
+     */
+    private static void radixSort(int[] keys, int[] indices) {
+        int n = keys.length;
+        if (n < 2) {
+            return;
+        }
+
+        int min = keys[0];
+        int max = keys[0];
+        for (int i = 1; i < n; i++) {
+            min = Math.min(min, keys[i]);
+            max = Math.max(max, keys[i]);
+        }
+        long range = (long) max - min;
+        if (range == 0) {
+            return;
+        }
+        int passes = 1;
+        while (passes < 3 && range >>> (passes * DIGIT_BITS) != 0) {
+            passes++;
+        }
+
+        // One histogram per digit, all filled in a single pass
+        int[][] counts = new int[passes][RADIX];
+        for (int i = 0; i < n; i++) {
+            int key = keys[i] - min;
+            for (int p = 0; p < passes; p++) {
+                counts[p][(key >>> (p * DIGIT_BITS)) & DIGIT_MASK]++;
+            }
+        }
+
+        int[] srcKeys = keys;
+        int[] dstKeys = new int[n];
+        int[] srcIndices = indices;
+        int[] dstIndices = indices == null ? null : new int[n];
+        for (int p = 0; p < passes; p++) {
+            int shift = p * DIGIT_BITS;
+            int[] offsets = counts[p];
+            int sum = 0;
+            for (int d = 0; d < RADIX; d++) {
+                int count = offsets[d];
+                offsets[d] = sum;
+                sum += count;
+            }
+            for (int i = 0; i < n; i++) {
+                int key = srcKeys[i];
+                int position = offsets[((key - min) >>> shift) & DIGIT_MASK]++;
+                dstKeys[position] = key;
+                if (srcIndices != null) {
+                    dstIndices[position] = srcIndices[i];
+                }
+            }
+            int[] swap = srcKeys;
+            srcKeys = dstKeys;
+            dstKeys = swap;
+            swap = srcIndices;
+            srcIndices = dstIndices;
+            dstIndices = swap;
+        }
+
+        // After an odd number of passes the result lives in the scratch arrays
+        if (srcKeys != keys) {
+            System.arraycopy(srcKeys, 0, keys, 0, n);
+            if (indices != null) {
+                System.arraycopy(srcIndices, 0, indices, 0, n);
+            }
+        }
+    }
+}
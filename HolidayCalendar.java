@@ -0,0 +1,268 @@
+import java.util.Collection;
+
+/**
+ * The HolidayCalendar class answers business-day questions for settlement in
+ * constant or logarithmic time.
+ * 
+ * Business days are kept in a DateBitmap, one bit per day number over the whole
+ * supported range (about 450KB), whose rank index counts the business days before
+ * each 64-day word. With these counts:
+ * - isBusinessDay is a single bit test
+ * - businessDaysBetween is two constant-time rank lookups
+ * - addBusinessDays is a rank lookup followed by a binary search over the rank index
+ * 
+ * A day is a business day unless it falls on a weekend day or has been added as a
+ * holiday. The tables are built in the constructor and are never changed in place:
+ * adding or removing a holiday publishes an updated copy through a volatile field,
+ * so the calendar may be shared between threads and queried while it is being
+ * modified, and every query sees one consistent calendar. Each change copies the
+ * two bitmaps and the business-day rank index (about 1.1MB), so load a year's
+ * holidays with one addHolidays() call, which publishes a single copy.
+ * 
+ * @author Shimon Esterkin (@SemionVlad)
+ * @version 2023B
+ */
+public class HolidayCalendar {
+    // ISO day-of-week numbers
+    private static final int SATURDAY = 6;
+    private static final int SUNDAY = 7;
+
+    private final boolean[] weekend = new boolean[8];
+    private volatile Tables tables;
+
+    /**
+     * Constructs a new HolidayCalendar with Saturday and Sunday as weekend days
+     * and no holidays.
+     */
+    public HolidayCalendar() {
+        this(SATURDAY, SUNDAY);
+    }
+
+    /**
+     * Constructs a new HolidayCalendar with the given weekend days and no holidays.
+     *
+     * @param weekendDays ISO day-of-week numbers (1 = Monday through 7 = Sunday)
+     * @throws IllegalArgumentException if a day-of-week number is out of range
+     */
+    public HolidayCalendar(int... weekendDays) {
+        for (int dayOfWeek : weekendDays) {
+            if (dayOfWeek < 1 || dayOfWeek > 7) {
+                throw new IllegalArgumentException("Not an ISO day of week: " + dayOfWeek);
+            }
+            weekend[dayOfWeek] = true;
+        }
+        tables = Tables.build(weekend);
+    }
+
+    // Holidays
+
+    /**
+     * Marks a date as a holiday.
+     *
+     * @param date the holiday
+     */
+    public void addHoliday(Date date) {
+        addHolidays(new int[] {date.toEpochDay()});
+    }
+
+    /**
+     * Marks every date of a collection as a holiday, publishing the change once.
+     *
+     * @param dates the holidays
+     */
+    public void addHolidays(Collection<Date> dates) {
+        int[] epochDays = new int[dates.size()];
+        int i = 0;
+        for (Date date : dates) {
+            epochDays[i++] = date.toEpochDay();
+        }
+        addHolidays(epochDays);
+    }
+
+    /**
+     * Marks every day number of a packed column as a holiday, publishing the change once.
+     *
+     * @param epochDays the day numbers of the holidays
+     * @throws IllegalArgumentException if a day number is not a valid date; the
+     *         calendar is then left unchanged
+     */
+    public synchronized void addHolidays(int[] epochDays) {
+        tables = tables.withHolidays(epochDays, true, weekend);
+    }
+
+    /**
+     * Removes a date from the holidays, if present.
+     *
+     * @param date the date to remove
+     */
+    public synchronized void removeHoliday(Date date) {
+        tables = tables.withHolidays(new int[] {date.toEpochDay()}, false, weekend);
+    }
+
+    /**
+     * Checks if a date has been added as a holiday.
+     *
+     * @param date the date to check
+     * @return true if the date is a holiday
+     */
+    public boolean isHoliday(Date date) {
+        return tables.isHoliday(date.toEpochDay());
+    }
+
+    // Queries
+
+    /**
+     * Checks if a date is a business day.
+     *
+     * @param date the date to check
+     * @return true if the date is neither a weekend day nor a holiday
+     */
+    public boolean isBusinessDay(Date date) {
+        return isBusinessEpochDay(date.toEpochDay());
+    }
+
+    /**
+     * Checks if a day number is a business day.
+     *
+     * @param epochDay a valid day number
+     * @return true if the day is neither a weekend day nor a holiday
+     */
+    public boolean isBusinessEpochDay(int epochDay) {
+        return tables.isBusinessDay(epochDay);
+    }
+
+    /**
+     * Counts the business days from one date (inclusive) to another (exclusive).
+     * The result is negative if end is before start.
+     *
+     * @param start the first day counted
+     * @param end the day after the last day counted
+     * @return the number of business days in [start, end)
+     */
+    public int businessDaysBetween(Date start, Date end) {
+        Tables current = tables;
+        return current.rank(end.toEpochDay()) - current.rank(start.toEpochDay());
+    }
+
+    /**
+     * Returns the business day lying the given number of business days away.
+     * For positive n this is the n-th business day after the date, for negative n
+     * the n-th business day before it; for zero it is the date itself.
+     *
+     * @param date the starting date
+     * @param n the number of business days to move
+     * @return a new Date for the resulting business day
+     * @throws IllegalArgumentException if the result is outside the supported range
+     */
+    public Date addBusinessDays(Date date, int n) {
+        int result = addBusinessDays(date.toEpochDay(), n);
+        if (result < 0) {
+            throw new IllegalArgumentException("No business day " + n + " business days from " + date);
+        }
+        return Date.fromEpochDay(result);
+    }
+
+    /**
+     * Returns the day number lying the given number of business days away.
+     *
+     * @param epochDay a valid day number
+     * @param n the number of business days to move (may be negative)
+     * @return the resulting day number, or -1 if it is outside the supported range
+     */
+    public int addBusinessDays(int epochDay, int n) {
+        if (n == 0) {
+            return epochDay;
+        }
+        Tables current = tables;
+        // Business days strictly before the target
+        long target = n > 0 ? (long) current.rank(epochDay + 1) + n - 1 : (long) current.rank(epochDay) + n;
+        return current.select(target);
+    }
+
+    // Tables
+
+    /**
+     * Holiday and business-day bitmaps that are never modified once published.
+     */
+    private static final class Tables {
+        private final DateBitmap holidays;
+        private final DateBitmap businessDays;
+
+        private Tables(DateBitmap holidays, DateBitmap businessDays) {
+            this.holidays = holidays;
+            this.businessDays = businessDays;
+            // Readers then only read: the rank index is complete before publication.
+            // The holiday bitmap only answers membership tests, which need no index.
+            businessDays.build();
+        }
+
+        /**
+         * Builds the tables for a calendar with the given weekend days and no holidays.
+         */
+        static Tables build(boolean[] weekend) {
+            DateBitmap businessDays = new DateBitmap();
+            int dayOfWeek = Date.dayOfWeekOf(Date.MIN_EPOCH_DAY);
+            for (int epochDay = Date.MIN_EPOCH_DAY; epochDay <= Date.MAX_EPOCH_DAY; epochDay++) {
+                if (!weekend[dayOfWeek]) {
+                    businessDays.addEpochDay(epochDay);
+                }
+                dayOfWeek = dayOfWeek == 7 ? 1 : dayOfWeek + 1;
+            }
+            return new Tables(new DateBitmap(), businessDays);
+        }
+
+        /**
+         * Copies the tables with the given days added to or removed from the holidays;
+         * returns this when no day changes.
+         */
+        Tables withHolidays(int[] epochDays, boolean holiday, boolean[] weekend) {
+            DateBitmap newHolidays = null;
+            DateBitmap newBusinessDays = null;
+            for (int epochDay : epochDays) {
+                if (!Date.isValidEpochDay(epochDay)) {
+                    throw new IllegalArgumentException("Not a valid day number: " + epochDay);
+                }
+                if (isHoliday(epochDay) == holiday) {
+                    continue;
+                }
+                if (newHolidays == null) {
+                    newHolidays = new DateBitmap(holidays);
+                    newBusinessDays = new DateBitmap(businessDays);
+                }
+                if (holiday) {
+                    newHolidays.addEpochDay(epochDay);
+                    newBusinessDays.removeEpochDay(epochDay);
+                } else {
+                    newHolidays.removeEpochDay(epochDay);
+                    if (!weekend[Date.dayOfWeekOf(epochDay)]) {
+                        newBusinessDays.addEpochDay(epochDay);
+                    }
+                }
+            }
+            return newHolidays == null ? this : new Tables(newHolidays, newBusinessDays);
+        }
+
+        boolean isHoliday(int epochDay) {
+            return holidays.containsEpochDay(epochDay);
+        }
+
+        boolean isBusinessDay(int epochDay) {
+            return businessDays.containsEpochDay(epochDay);
+        }
+
+        /**
+         * @return the number of business days with a day number below epochDay
+         */
+        int rank(int epochDay) {
+            return businessDays.rank(epochDay);
+        }
+
+        /**
+         * @return the day number of the business day with exactly r business days
+         *         before it, or -1 if there is none
+         */
+        int select(long r) {
+            return r < 0 || r > Integer.MAX_VALUE ? -1 : businessDays.select((int) r);
+        }
+    }
+}
@@ -0,0 +1,258 @@
+/**
+ * The ImmutableDate class is a read-only counterpart of Date that can be shared
+ * freely between threads and caches without defensive copies or locking.
+ * 
+ * The date is held in a single final day number on the same scale as
+ * Date.toEpochDay(). Instead of setters, withDay/withMonth/withYear return a new
+ * instance when the resulting date is valid and this instance otherwise, mirroring
+ * how Date ignores invalid component updates. Validation follows exactly the same
+ * rules as Date, and invalid constructor arguments likewise default to 01/01/2000.
+ * 
+ * @author Shimon Esterkin (@SemionVlad)
+ * @version 2023B
+ */
+public final class ImmutableDate implements Comparable<ImmutableDate> {
+    // Instance variables
+
+    /** Day number of this date on the Date.toEpochDay() scale. */
+    private final int epochDay;
+
+    // Constructors
+
+    /**
+     * Constructs a new ImmutableDate.
+     * If the date is invalid, defaults to 01/01/2000.
+     *
+     * @param day the day of the month
+     * @param month the month (1-12)
+     * @param year the year
+     */
+    public ImmutableDate(int day, int month, int year) {
+        this.epochDay = Date.verifyDate(day, month, year)
+                ? Date.calculateDate(day, month, year)
+                : Date.DEFAULT_EPOCH_DAY;
+    }
+
+    /**
+     * Constructs an ImmutableDate holding the current value of a Date.
+     *
+     * @param date the Date to copy
+     */
+    public ImmutableDate(Date date) {
+        this.epochDay = date.toEpochDay();
+    }
+
+    private ImmutableDate(int epochDay) {
+        this.epochDay = epochDay;
+    }
+
+    /**
+     * Creates an ImmutableDate from a day number on the Date.toEpochDay() scale.
+     * If the day number is outside the supported range, defaults to 01/01/2000.
+     *
+     * @param epochDay the day number
+     * @return an ImmutableDate for that day
+     */
+    public static ImmutableDate fromEpochDay(int epochDay) {
+        if (!Date.isValidEpochDay(epochDay)) {
+            epochDay = Date.DEFAULT_EPOCH_DAY;
+        }
+        return new ImmutableDate(epochDay);
+    }
+
+    // Getters
+
+    /**
+     * @return the day of the month
+     */
+    public int getDay() {
+        return Date.decodeDate(epochDay) & 31;
+    }
+
+    /**
+     * @return the month (1-12)
+     */
+    public int getMonth() {
+        return Date.decodeDate(epochDay) >> 5 & 15;
+    }
+
+    /**
+     * @return the year
+     */
+    public int getYear() {
+        return Date.decodeDate(epochDay) >> 9;
+    }
+
+    /**
+     * @return the day number of this date (01/01/0000 is day 1)
+     */
+    public int toEpochDay() {
+        return epochDay;
+    }
+
+    /**
+     * @return a new mutable Date with the same value
+     */
+    public Date toDate() {
+        return Date.fromEpochDay(epochDay);
+    }
+
+    // Withers
+
+    /**
+     * Returns a date with the day replaced, if the resulting date would be valid.
+     *
+     * @param dayToSet the new day value
+     * @return the updated date, or this date if the update is invalid
+     */
+    public ImmutableDate withDay(int dayToSet) {
+        int packed = Date.decodeDate(epochDay);
+        return with(dayToSet, packed >> 5 & 15, packed >> 9);
+    }
+
+    /**
+     * Returns a date with the month replaced, if the resulting date would be valid.
+     *
+     * @param monthToSet the new month value
+     * @return the updated date, or this date if the update is invalid
+     */
+    public ImmutableDate withMonth(int monthToSet) {
+        int packed = Date.decodeDate(epochDay);
+        return with(packed & 31, monthToSet, packed >> 9);
+    }
+
+    /**
+     * Returns a date with the year replaced, if the resulting date would be valid.
+     *
+     * @param yearToSet the new year value
+     * @return the updated date, or this date if the update is invalid
+     */
+    public ImmutableDate withYear(int yearToSet) {
+        int packed = Date.decodeDate(epochDay);
+        return with(packed & 31, packed >> 5 & 15, yearToSet);
+    }
+
+    private ImmutableDate with(int day, int month, int year) {
+        if (!Date.verifyDate(day, month, year)) {
+            return this;
+        }
+        int updated = Date.calculateDate(day, month, year);
+        return updated == epochDay ? this : new ImmutableDate(updated);
+    }
+
+    // Comparison Methods
+
+    /**
+     * Checks if this date equals another date.
+     *
+     * @param other the date to compare with
+     * @return true if the dates are equal
+     */
+    public boolean equals(ImmutableDate other) {
+        return epochDay == other.epochDay;
+    }
+
+    /**
+     * Checks if this date equals another object.
+     * Two ImmutableDate objects are equal when they represent the same day.
+     *
+     * @param other the object to compare with
+     * @return true if other is a ImmutableDate for the same day
+     */
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof ImmutableDate && epochDay == ((ImmutableDate) other).epochDay;
+    }
+
+    /**
+     * Returns a hash code derived from the day number. The multiplication spreads
+     * consecutive days across the whole int range.
+     *
+     * @return the hash code of this date
+     */
+    @Override
+    public int hashCode() {
+        return epochDay * 0x9E3779B9;
+    }
+
+    /**
+     * Compares this date with another date in chronological order.
+     *
+     * @param other the date to compare with
+     * @return a negative number, zero or a positive number if this date is
+     *         before, equal to or after the other date
+     */
+    @Override
+    public int compareTo(ImmutableDate other) {
+        return Integer.compare(epochDay, other.epochDay);
+    }
+
+    /**
+     * Checks if this date comes before another date.
+     *
+     * @param other the date to compare with
+     * @return true if this date is before the other date
+     */
+    public boolean before(ImmutableDate other) {
+        return epochDay < other.epochDay;
+    }
+
+    /**
+     * Checks if this date comes after another date.
+     *
+     * @param other the date to compare with
+     * @return true if this date is after the other date
+     */
+    public boolean after(ImmutableDate other) {
+        return epochDay > other.epochDay;
+    }
+
+    /**
+     * Calculates the number of days between this date and another date.
+     *
+     * @param other the date to calculate difference with
+     * @return number of days between the dates
+     */
+    public int difference(ImmutableDate other) {
+        return epochDay - other.epochDay;
+    }
+
+    // Utility Methods
+
+    /**
+     * Returns the date following this one.
+     * As with Date.tomorrow(), the day after 31/12/9999 is 01/01/2000.
+     *
+     * @return the next day
+     */
+    public ImmutableDate tomorrow() {
+        return plusDays(1);
+    }
+
+    /**
+     * Returns the date the given number of days after this one.
+     * If the result is outside the supported range, defaults to 01/01/2000.
+     *
+     * @param days the number of days to add (may be negative)
+     * @return the shifted date
+     */
+    public ImmutableDate plusDays(int days) {
+        long target = (long) epochDay + days;
+        if (!Date.isValidEpochDay(target)) {
+            return new ImmutableDate(Date.DEFAULT_EPOCH_DAY);
+        }
+        return new ImmutableDate((int) target);
+    }
+
+    /**
+     * Returns a string representation of the date in DD/MM/YYYY format.
+     *
+     * @return formatted string representation of the date
+     */
+    @Override
+    public String toString() {
+        char[] buffer = new char[DateFormatter.FORMATTED_LENGTH];
+        DateFormatter.format(epochDay, buffer, 0);
+        return new String(buffer);
+    }
+}
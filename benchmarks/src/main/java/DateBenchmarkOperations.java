@@ -0,0 +1,127 @@
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+
+import datebench.DateOperations;
+
+/**
+ * The DateBenchmarkOperations class implements the benchmark operations
+ * directly on Date, from the same default package.
+ * 
+ * @author Shimon Esterkin (@SemionVlad)
+ * @version 2023B
+ */
+public class DateBenchmarkOperations implements DateOperations {
+    private static final int[] ADVERSARIAL_DAYS = {28, 29, 30, 31, 1};
+    private static final int[] ADVERSARIAL_YEARS = {1900, 2000, 2023, 2024, 2100, 9999};
+
+    @Override
+    public void fill(String distribution, long seed, int[] days, int[] months, int[] years,
+                     Object[] dates, Object[] others) {
+        Random random = new Random(seed);
+        for (int i = 0; i < dates.length; i++) {
+            int day;
+            int month;
+            int year;
+            switch (distribution) {
+                case "SEQUENTIAL":
+                    int sequential = new Date(1, 1, 2000).toEpochDay() + i;
+                    day = Date.dayOf(sequential);
+                    month = Date.monthOf(sequential);
+                    year = Date.yearOf(sequential);
+                    break;
+                case "RANDOM":
+                    int epochDay = 1 + random.nextInt(Date.MAX_EPOCH_DAY);
+                    day = Date.dayOf(epochDay);
+                    month = Date.monthOf(epochDay);
+                    year = Date.yearOf(epochDay);
+                    break;
+                case "ADVERSARIAL":
+                    // Kept raw, so invalid combinations such as 31/04 or 29/02/1900
+                    // drive the constructor down its fallback path
+                    day = ADVERSARIAL_DAYS[random.nextInt(ADVERSARIAL_DAYS.length)];
+                    month = 1 + random.nextInt(12);
+                    year = ADVERSARIAL_YEARS[random.nextInt(ADVERSARIAL_YEARS.length)];
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown distribution: " + distribution);
+            }
+            days[i] = day;
+            months[i] = month;
+            years[i] = year;
+            // Invalid combinations become 01/01/2000, like the constructor
+            Date date = new Date(day, month, year);
+            dates[i] = date;
+            others[i] = date.plusDays(random.nextInt(61) - 30);
+        }
+    }
+
+    @Override
+    public Object create(int day, int month, int year) {
+        return new Date(day, month, year);
+    }
+
+    @Override
+    public boolean isValidDate(int day, int month, int year) {
+        return Date.verifyDate(day, month, year);
+    }
+
+    @Override
+    public int difference(Object date, Object other) {
+        return ((Date) date).difference((Date) other);
+    }
+
+    @Override
+    public boolean before(Object date, Object other) {
+        return ((Date) date).before((Date) other);
+    }
+
+    @Override
+    public boolean after(Object date, Object other) {
+        return ((Date) date).after((Date) other);
+    }
+
+    @Override
+    public Object tomorrow(Object date) {
+        return ((Date) date).tomorrow();
+    }
+
+    @Override
+    public String format(Object date) {
+        return date.toString();
+    }
+
+    @Override
+    public int[] randomEpochDays(long seed, int count) {
+        Random random = new Random(seed);
+        int[] epochDays = new int[count];
+        for (int i = 0; i < count; i++) {
+            epochDays[i] = 1 + random.nextInt(Date.MAX_EPOCH_DAY);
+        }
+        return epochDays;
+    }
+
+    @Override
+    public Object[] toDates(int[] epochDays) {
+        Date[] dates = new Date[epochDays.length];
+        for (int i = 0; i < dates.length; i++) {
+            dates[i] = Date.fromEpochDay(epochDays[i]);
+        }
+        return dates;
+    }
+
+    @Override
+    public void sortWithComparator(Object[] dates) {
+        Arrays.sort((Date[]) dates, Comparator.naturalOrder());
+    }
+
+    @Override
+    public void sort(int[] epochDays) {
+        DateSort.sort(epochDays);
+    }
+
+    @Override
+    public int[] argsort(int[] epochDays) {
+        return DateSort.argsort(epochDays);
+    }
+}
@@ -0,0 +1,165 @@
+package datebench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * The DateBenchmark class is the JMH benchmark suite for every public Date
+ * operation and for the verifyDate() paths of each month type.
+ * 
+ * Each benchmark runs over three date distributions, selected with @Param:
+ * - SEQUENTIAL: consecutive days starting at 01/01/2000
+ * - RANDOM: uniformly random valid dates (fixed seed)
+ * - ADVERSARIAL: month ends, leap days and century years that exercise every rollover branch
+ * 
+ * Every invocation processes the whole workload, and results are reported per date.
+ * Date itself is reached through DateOperations, since JMH rejects benchmarks
+ * in the default package.
+ * 
+ * Usage, with the GC profiler always enabled by main():
+ * mvn package
+ * java -jar benchmarks/target/benchmarks.jar [JMH options]
+ * 
+ * @author Shimon Esterkin (@SemionVlad)
+ * @version 2023B
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class DateBenchmark {
+    private static final int SIZE = 1 << 12;
+    private static final long SEED = 2023L;
+
+    @Param({"SEQUENTIAL", "RANDOM", "ADVERSARIAL"})
+    public String distribution;
+
+    private final int[] days = new int[SIZE];
+    private final int[] months = new int[SIZE];
+    private final int[] years = new int[SIZE];
+    private final Object[] dates = new Object[SIZE];
+    private final Object[] others = new Object[SIZE];
+
+    private DateOperations ops;
+
+    /**
+     * Fills the workload for the selected distribution.
+     */
+    @Setup
+    public void setUp() {
+        ops = DateOperations.load();
+        ops.fill(distribution, SEED, days, months, years, dates, others);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void constructor(Blackhole blackhole) {
+        for (int i = 0; i < SIZE; i++) {
+            blackhole.consume(ops.create(days[i], months[i], years[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void verifyThirtyOneDayMonth(Blackhole blackhole) {
+        for (int i = 0; i < SIZE; i++) {
+            blackhole.consume(ops.isValidDate(days[i], 1, years[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void verifyThirtyDayMonth(Blackhole blackhole) {
+        for (int i = 0; i < SIZE; i++) {
+            blackhole.consume(ops.isValidDate(days[i], 4, years[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void verifyFebruary(Blackhole blackhole) {
+        for (int i = 0; i < SIZE; i++) {
+            blackhole.consume(ops.isValidDate(days[i], 2, years[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void difference(Blackhole blackhole) {
+        for (int i = 0; i < SIZE; i++) {
+            blackhole.consume(ops.difference(dates[i], others[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void before(Blackhole blackhole) {
+        for (int i = 0; i < SIZE; i++) {
+            blackhole.consume(ops.before(dates[i], others[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void after(Blackhole blackhole) {
+        for (int i = 0; i < SIZE; i++) {
+            blackhole.consume(ops.after(dates[i], others[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void tomorrow(Blackhole blackhole) {
+        for (int i = 0; i < SIZE; i++) {
+            blackhole.consume(ops.tomorrow(dates[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void toStringFormat(Blackhole blackhole) {
+        for (int i = 0; i < SIZE; i++) {
+            blackhole.consume(ops.format(dates[i]));
+        }
+    }
+
+    /**
+     * Runs every benchmark of the package (this class and SortBenchmark) with the
+     * GC profiler enabled, accepting the usual JMH
+     * command-line options (e.g. -f 1 -wi 3 to shorten a run, or a benchmark
+     * name such as "before" to run only matching benchmarks).
+     *
+     * @param args JMH command-line options
+     * @throws Exception if JMH fails to parse the options or run the benchmarks
+     */
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        ChainedOptionsBuilder builder = new OptionsBuilder()
+                .parent(commandLine)
+                .addProfiler(GCProfiler.class);
+        if (commandLine.getIncludes().isEmpty()) {
+            builder.include(DateBenchmark.class.getPackageName() + "\\.");
+        }
+        new Runner(builder.build()).run();
+    }
+}
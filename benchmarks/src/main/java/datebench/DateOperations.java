@@ -0,0 +1,83 @@
+package datebench;
+
+/**
+ * The DateOperations interface lets the benchmarks, which JMH requires to live
+ * in a named package, reach the Date class in the default package.
+ * 
+ * The single implementation is loaded by name once per trial, so every call
+ * site stays monomorphic and is inlined by the JIT.
+ * 
+ * @author Shimon Esterkin (@SemionVlad)
+ * @version 2023B
+ */
+public interface DateOperations {
+    /** Name of the default-package implementation */
+    String IMPLEMENTATION = "DateBenchmarkOperations";
+
+    /**
+     * Fills the workload arrays for the given distribution.
+     * The component arrays hold the raw inputs, which for ADVERSARIAL include
+     * invalid combinations; dates and others hold the Date each one constructs.
+     *
+     * @param distribution SEQUENTIAL, RANDOM or ADVERSARIAL
+     * @param seed the random seed
+     * @param days receives the day of each input
+     * @param months receives the month of each input
+     * @param years receives the year of each input
+     * @param dates receives the Date constructed from each input
+     * @param others receives a date within 30 days of each date
+     */
+    void fill(String distribution, long seed, int[] days, int[] months, int[] years,
+              Object[] dates, Object[] others);
+
+    Object create(int day, int month, int year);
+
+    boolean isValidDate(int day, int month, int year);
+
+    int difference(Object date, Object other);
+
+    boolean before(Object date, Object other);
+
+    boolean after(Object date, Object other);
+
+    Object tomorrow(Object date);
+
+    String format(Object date);
+
+    /**
+     * @param seed the random seed
+     * @param count the number of day numbers
+     * @return day numbers of uniformly random valid dates
+     */
+    int[] randomEpochDays(long seed, int count);
+
+    /**
+     * @param epochDays day numbers
+     * @return a Date[] holding a new Date for each day number
+     */
+    Object[] toDates(int[] epochDays);
+
+    /**
+     * Sorts a Date[] created by toDates() with Arrays.sort and a comparator.
+     *
+     * @param dates the dates to sort in place
+     */
+    void sortWithComparator(Object[] dates);
+
+    void sort(int[] epochDays);
+
+    int[] argsort(int[] epochDays);
+
+    /**
+     * Loads the default-package implementation.
+     *
+     * @return the Date operations
+     */
+    static DateOperations load() {
+        try {
+            return (DateOperations) Class.forName(IMPLEMENTATION).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot load " + IMPLEMENTATION, e);
+        }
+    }
+}
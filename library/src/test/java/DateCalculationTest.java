@@ -0,0 +1,76 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Exhaustive checks of the division-free calculateDate() and decodeDate() over
+ * every valid date, against the formulas they replaced.
+ * 
+ * @author Shimon Esterkin (@SemionVlad)
+ * @version 2023B
+ */
+class DateCalculationTest {
+    private static final int[] MONTH_DAYS = {31, 28, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31};
+
+    /**
+     * The original calculateDate(), with truncating division.
+     */
+    private static int baselineFormula(int day, int month, int year) {
+        if (month < 3) {
+            year--;
+            month = month + 12;
+        }
+        return 365 * year + year / 4 - year / 100 + year / 400 +
+               ((month + 1) * 306) / 10 + (day - 62);
+    }
+
+    /**
+     * The floor-division calculateDate() that fixed January and February of year 0.
+     */
+    private static int floorFormula(int day, int month, int year) {
+        if (month < 3) {
+            year--;
+            month = month + 12;
+        }
+        return 365 * year + Math.floorDiv(year, 4) - Math.floorDiv(year, 100) +
+               Math.floorDiv(year, 400) + ((month + 1) * 306) / 10 + (day - 62);
+    }
+
+    private static int monthLength(int month, int year) {
+        boolean leap = year % 4 == 0 && (year % 100 != 0 || year % 400 == 0);
+        return month == 2 && leap ? 29 : MONTH_DAYS[month - 1];
+    }
+
+    @Test
+    void calculateDateMatchesPreviousFormulasForEveryDate() {
+        for (int year = 0; year <= 9999; year++) {
+            for (int month = 1; month <= 12; month++) {
+                for (int day = 1; day <= monthLength(month, year); day++) {
+                    int epochDay = Date.calculateDate(day, month, year);
+                    assertEquals(floorFormula(day, month, year), epochDay);
+                    // The baseline truncated -1 / 4 etc. towards zero, so January and
+                    // February of year 0 came out one day late (29/02/0000 and 01/03/0000
+                    // collided); every other date is unchanged
+                    int shift = year == 0 && month <= 2 ? 1 : 0;
+                    assertEquals(baselineFormula(day, month, year), epochDay + shift);
+                }
+            }
+        }
+    }
+
+    @Test
+    void decodeDateRoundTripsEveryDayNumber() {
+        int expected = Date.MIN_EPOCH_DAY;
+        for (int year = 0; year <= 9999; year++) {
+            for (int month = 1; month <= 12; month++) {
+                for (int day = 1; day <= monthLength(month, year); day++) {
+                    // Day numbers are consecutive, with no gaps or collisions
+                    assertEquals(expected, Date.calculateDate(day, month, year));
+                    assertEquals(year << 9 | month << 5 | day, Date.decodeDate(expected));
+                    expected++;
+                }
+            }
+        }
+        assertEquals(Date.MAX_EPOCH_DAY + 1, expected);
+    }
+}
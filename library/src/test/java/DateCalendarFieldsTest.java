@@ -0,0 +1,79 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDate;
+import java.time.temporal.IsoFields;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks the day-of-week, day-of-year and ISO week computations against java.time
+ * for every date from 01/01/0000 to 31/12/9999.
+ * 
+ * @author Shimon Esterkin (@SemionVlad)
+ * @version 2023B
+ */
+class DateCalendarFieldsTest {
+    private static final LocalDate FIRST = LocalDate.of(0, 1, 1);
+    private static final LocalDate LAST = LocalDate.of(9999, 12, 31);
+
+    @Test
+    void staticHelpersMatchJavaTimeForEveryDate() {
+        int epochDay = Date.MIN_EPOCH_DAY;
+        for (LocalDate date = FIRST; !date.isAfter(LAST); date = date.plusDays(1), epochDay++) {
+            assertEquals(date.getDayOfWeek().getValue(), Date.dayOfWeekOf(epochDay), date::toString);
+            assertEquals(date.getDayOfYear(), Date.dayOfYearOf(epochDay), date::toString);
+            assertEquals(date.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR), Date.isoWeekOf(epochDay), date::toString);
+            assertEquals(date.get(IsoFields.WEEK_BASED_YEAR), Date.isoWeekYearOf(epochDay), date::toString);
+        }
+        assertEquals(Date.MAX_EPOCH_DAY + 1, epochDay);
+    }
+
+    @Test
+    void instanceMethodsMatchJavaTime() {
+        LocalDate[] samples = {FIRST, LocalDate.of(2000, 2, 29), LocalDate.of(2020, 12, 31),
+                               LocalDate.of(2021, 1, 3), LocalDate.of(2024, 12, 30), LAST};
+        for (LocalDate sample : samples) {
+            Date date = new Date(sample.getDayOfMonth(), sample.getMonthValue(), sample.getYear());
+            assertEquals(sample.getDayOfWeek().getValue(), date.dayOfWeek());
+            assertEquals(sample.getDayOfYear(), date.dayOfYear());
+            assertEquals(sample.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR), date.isoWeek());
+            assertEquals(sample.get(IsoFields.WEEK_BASED_YEAR), date.isoWeekYear());
+        }
+    }
+
+    @Test
+    void bulkKernelsMatchStaticHelpers() {
+        int[] column = new int[Date.MAX_EPOCH_DAY];
+        for (int i = 0; i < column.length; i++) {
+            column[i] = Date.MIN_EPOCH_DAY + i;
+        }
+        int[] result = new int[column.length];
+        int[] expected = new int[column.length];
+
+        DateKernels.dayOfWeek(column, result);
+        for (int i = 0; i < column.length; i++) {
+            expected[i] = Date.dayOfWeekOf(column[i]);
+        }
+        assertArrayEquals(expected, result);
+
+        DateKernels.dayOfYear(column, result);
+        for (int i = 0; i < column.length; i++) {
+            expected[i] = Date.dayOfYearOf(column[i]);
+        }
+        assertArrayEquals(expected, result);
+
+        DateKernels.isoWeek(column, result);
+        for (int i = 0; i < column.length; i++) {
+            expected[i] = Date.isoWeekOf(column[i]);
+        }
+        assertArrayEquals(expected, result);
+
+        int[] histogram = DateKernels.dayOfWeekHistogram(column);
+        int[] counts = new int[7];
+        for (int epochDay : column) {
+            counts[Date.dayOfWeekOf(epochDay) - 1]++;
+        }
+        assertArrayEquals(counts, histogram);
+    }
+}
@@ -0,0 +1,161 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks the DateKernels results against per-element scalar expressions. The Maven
+ * build runs the tests with jdk.incubator.vector, so this covers the vector kernels
+ * and the scalar tails after them, over lengths and offsets that are not multiples
+ * of the vector width.
+ *
+ * @author Shimon Esterkin (@SemionVlad)
+ * @version 2023B
+ */
+class DateKernelsTest {
+    private static final int[] LENGTHS = {0, 1, 7, 63, 64, 65, 200, 1000, 4099};
+    private static final int[] SHIFTS = {0, 1, -1, 365, -146097, Date.MAX_EPOCH_DAY, -Date.MAX_EPOCH_DAY,
+                                         Integer.MAX_VALUE, Integer.MIN_VALUE};
+
+    @Test
+    void mavenBuildUsesVectorKernels() {
+        assertTrue(DateKernels.isVectorized());
+    }
+
+    @Test
+    void differenceAndMasksMatchScalar() {
+        Random random = new Random(13);
+        for (int length : LENGTHS) {
+            int[] a = validColumn(random, length);
+            int[] b = validColumn(random, length);
+            if (length > 0) {
+                b[length / 2] = a[length / 2];
+            }
+
+            int[] difference = new int[length];
+            DateKernels.difference(a, b, difference);
+            long[] before = new long[(length + 63) / 64];
+            DateKernels.before(a, b, before);
+            long[] after = new long[(length + 63) / 64];
+            DateKernels.after(a, b, after);
+
+            for (int i = 0; i < length; i++) {
+                assertEquals(a[i] - b[i], difference[i]);
+                assertEquals(a[i] < b[i], (before[i >> 6] >>> i & 1) != 0);
+                assertEquals(a[i] > b[i], (after[i >> 6] >>> i & 1) != 0);
+            }
+        }
+    }
+
+    @Test
+    void rangeKernelsMatchScalar() {
+        Random random = new Random(21);
+        int[] a = validColumn(random, 1000);
+        for (int from = 0; from < 40; from += 3) {
+            for (int to = from; to <= a.length; to += 37) {
+                int min = Integer.MAX_VALUE;
+                int max = Integer.MIN_VALUE;
+                for (int i = from; i < to; i++) {
+                    min = Math.min(min, a[i]);
+                    max = Math.max(max, a[i]);
+                }
+                assertEquals(min, DateKernels.min(a, from, to));
+                assertEquals(max, DateKernels.max(a, from, to));
+            }
+        }
+    }
+
+    @Test
+    void plusDaysMatchesScalar() {
+        Random random = new Random(34);
+        for (int length : LENGTHS) {
+            int[] src = mixedColumn(random, length);
+            int[] result = new int[length];
+            for (int days : SHIFTS) {
+                DateKernels.plusDays(src, days, result);
+                for (int i = 0; i < length; i++) {
+                    long shifted = (long) src[i] + days;
+                    int expected = Date.isValidEpochDay(src[i]) && Date.isValidEpochDay(shifted)
+                                   ? (int) shifted : Date.DEFAULT_EPOCH_DAY;
+                    assertEquals(expected, result[i], () -> "days " + days);
+                }
+            }
+        }
+    }
+
+    @Test
+    void validationMatchesScalar() {
+        Random random = new Random(55);
+        for (int length : LENGTHS) {
+            int[] a = mixedColumn(random, length);
+            int count = 0;
+            for (int value : a) {
+                count += Date.isValidEpochDay(value) ? 1 : 0;
+            }
+            assertEquals(count, DateKernels.countValid(a));
+
+            int[] valid = validColumn(random, length);
+            assertEquals(-1, DateKernels.firstInvalid(valid, 0, length));
+            for (int position = 0; position < length; position += 5) {
+                int saved = valid[position];
+                valid[position] = random.nextBoolean() ? Date.MAX_EPOCH_DAY + 1 : Date.MIN_EPOCH_DAY - 1;
+                assertEquals(position, DateKernels.firstInvalid(valid, 0, length));
+                assertEquals(position, DateKernels.firstInvalid(valid, position, length));
+                assertEquals(-1, DateKernels.firstInvalid(valid, position + 1, length));
+                valid[position] = saved;
+            }
+        }
+    }
+
+    @Test
+    void calendarFieldsMatchScalarAtBothEnds() {
+        for (int length : LENGTHS) {
+            int[] low = new int[length];
+            int[] high = new int[length];
+            for (int i = 0; i < length; i++) {
+                low[i] = Date.MIN_EPOCH_DAY + i;
+                high[i] = Date.MAX_EPOCH_DAY - i;
+            }
+            for (int[] column : new int[][] {low, high}) {
+                int[] dayOfWeek = new int[length];
+                int[] dayOfYear = new int[length];
+                int[] isoWeek = new int[length];
+                DateKernels.dayOfWeek(column, dayOfWeek);
+                DateKernels.dayOfYear(column, dayOfYear);
+                DateKernels.isoWeek(column, isoWeek);
+                int[] histogram = new int[7];
+                for (int i = 0; i < length; i++) {
+                    assertEquals(Date.dayOfWeekOf(column[i]), dayOfWeek[i]);
+                    assertEquals(Date.dayOfYearOf(column[i]), dayOfYear[i]);
+                    assertEquals(Date.isoWeekOf(column[i]), isoWeek[i]);
+                    histogram[dayOfWeek[i] - 1]++;
+                }
+                assertArrayEquals(histogram, DateKernels.dayOfWeekHistogram(column));
+            }
+        }
+    }
+
+    private static int[] validColumn(Random random, int length) {
+        int[] column = new int[length];
+        for (int i = 0; i < length; i++) {
+            column[i] = Date.MIN_EPOCH_DAY + random.nextInt(Date.MAX_EPOCH_DAY);
+        }
+        return column;
+    }
+
+    // Valid days, days just outside the range and arbitrary ints
+    private static int[] mixedColumn(Random random, int length) {
+        int[] column = new int[length];
+        for (int i = 0; i < length; i++) {
+            switch (random.nextInt(4)) {
+                case 0 -> column[i] = random.nextInt();
+                case 1 -> column[i] = random.nextBoolean() ? Date.MIN_EPOCH_DAY - 1 : Date.MAX_EPOCH_DAY + 1;
+                default -> column[i] = Date.MIN_EPOCH_DAY + random.nextInt(Date.MAX_EPOCH_DAY);
+            }
+        }
+        return column;
+    }
+}
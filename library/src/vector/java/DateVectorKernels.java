@@ -0,0 +1,227 @@
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * The DateVectorKernels class implements the DateKernels operations with the
+ * jdk.incubator.vector API, one IntVector of day numbers at a time.
+ *
+ * It is compiled only by the Maven build, with --add-modules jdk.incubator.vector,
+ * and DateKernels loads it reflectively; do not call it directly. Every method
+ * covers [from, to) where to - from is a multiple of lanes(), and DateKernels
+ * finishes the remaining elements with its scalar loops.
+ *
+ * The calendar fields follow Date.decodeDate() and Date.calculateDate() lane by
+ * lane. Integer division has no vector instruction and the 64-bit multiplies of
+ * decodeDate() would halve the lane count, so the divisions by 146097 and 1461 use
+ * a 32-bit multiply-shift estimate corrected by one step, and the day of week folds
+ * the day number to a small value with the same remainder modulo 7 first.
+ *
+ * @author Shimon Esterkin (@SemionVlad)
+ * @version 2023B
+ */
+final class DateVectorKernels implements DateKernels.Accelerator {
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+    private static final int LANES = SPECIES.length();
+
+    private static final int DAYS_PER_WEEK = 7;
+    private static final int DAYS_PER_ERA_CENTURY = 146097;
+    private static final int DAYS_PER_FOUR_YEARS = 1461;
+
+    // x / 7 == (x * 9363) >>> 16 for 0 <= x < 5120
+    private static final int SEVENTH_MULTIPLIER = 9363;
+    private static final int SEVENTH_SHIFT = 16;
+
+    @Override
+    public int lanes() {
+        return LANES;
+    }
+
+    // Comparisons and arithmetic
+
+    @Override
+    public void difference(int[] a, int[] b, int[] result, int from, int to) {
+        for (int i = from; i < to; i += LANES) {
+            IntVector.fromArray(SPECIES, a, i).sub(IntVector.fromArray(SPECIES, b, i)).intoArray(result, i);
+        }
+    }
+
+    @Override
+    public void before(int[] a, int[] b, long[] mask, int words) {
+        for (int w = 0; w < words; w++) {
+            int base = w << 6;
+            long word = 0;
+            for (int j = 0; j < 64; j += LANES) {
+                IntVector va = IntVector.fromArray(SPECIES, a, base + j);
+                IntVector vb = IntVector.fromArray(SPECIES, b, base + j);
+                word |= va.compare(VectorOperators.LT, vb).toLong() << j;
+            }
+            mask[w] = word;
+        }
+    }
+
+    @Override
+    public int min(int[] a, int from, int to) {
+        IntVector min = IntVector.broadcast(SPECIES, Integer.MAX_VALUE);
+        for (int i = from; i < to; i += LANES) {
+            min = min.min(IntVector.fromArray(SPECIES, a, i));
+        }
+        return min.reduceLanes(VectorOperators.MIN);
+    }
+
+    @Override
+    public int max(int[] a, int from, int to) {
+        IntVector max = IntVector.broadcast(SPECIES, Integer.MIN_VALUE);
+        for (int i = from; i < to; i += LANES) {
+            max = max.max(IntVector.fromArray(SPECIES, a, i));
+        }
+        return max.reduceLanes(VectorOperators.MAX);
+    }
+
+    @Override
+    public void plusDays(int[] src, int days, int[] result, int from, int to) {
+        long low = Math.max(Date.MIN_EPOCH_DAY, (long) Date.MIN_EPOCH_DAY - days);
+        long high = Math.min(Date.MAX_EPOCH_DAY, (long) Date.MAX_EPOCH_DAY - days);
+        IntVector fallback = IntVector.broadcast(SPECIES, Date.DEFAULT_EPOCH_DAY);
+        if (low > high) {
+            // No day can be shifted that far
+            for (int i = from; i < to; i += LANES) {
+                fallback.intoArray(result, i);
+            }
+            return;
+        }
+        for (int i = from; i < to; i += LANES) {
+            IntVector v = IntVector.fromArray(SPECIES, src, i);
+            VectorMask<Integer> inRange = v.compare(VectorOperators.GE, (int) low)
+                    .and(v.compare(VectorOperators.LE, (int) high));
+            fallback.blend(v.add(days), inRange).intoArray(result, i);
+        }
+    }
+
+    // Validation
+
+    @Override
+    public int countValid(int[] a, int from, int to) {
+        int count = 0;
+        for (int i = from; i < to; i += LANES) {
+            count += valid(IntVector.fromArray(SPECIES, a, i)).trueCount();
+        }
+        return count;
+    }
+
+    @Override
+    public int firstInvalid(int[] a, int from, int to) {
+        for (int i = from; i < to; i += LANES) {
+            VectorMask<Integer> invalid = valid(IntVector.fromArray(SPECIES, a, i)).not();
+            if (invalid.anyTrue()) {
+                return i + invalid.firstTrue();
+            }
+        }
+        return -1;
+    }
+
+    // Calendar fields
+
+    @Override
+    public void dayOfWeek(int[] a, int[] result, int from, int to) {
+        for (int i = from; i < to; i += LANES) {
+            dayOfWeek(IntVector.fromArray(SPECIES, a, i)).intoArray(result, i);
+        }
+    }
+
+    @Override
+    public void dayOfYear(int[] a, int[] result, int from, int to) {
+        for (int i = from; i < to; i += LANES) {
+            IntVector epochDay = IntVector.fromArray(SPECIES, a, i);
+            epochDay.sub(januaryFirst(year(epochDay))).add(1).intoArray(result, i);
+        }
+    }
+
+    @Override
+    public void isoWeek(int[] a, int[] result, int from, int to) {
+        for (int i = from; i < to; i += LANES) {
+            IntVector epochDay = IntVector.fromArray(SPECIES, a, i);
+            IntVector thursday = epochDay.sub(dayOfWeek(epochDay)).add(4);
+            IntVector daysIntoYear = thursday.sub(januaryFirst(year(thursday)));
+            divideBySeven(daysIntoYear).add(1).intoArray(result, i);
+        }
+    }
+
+    @Override
+    public void dayOfWeekHistogram(int[] a, int[] counts, int from, int to) {
+        for (int i = from; i < to; i += LANES) {
+            IntVector dayOfWeek = dayOfWeek(IntVector.fromArray(SPECIES, a, i));
+            for (int day = 1; day <= DAYS_PER_WEEK; day++) {
+                counts[day - 1] += dayOfWeek.compare(VectorOperators.EQ, day).trueCount();
+            }
+        }
+    }
+
+    // Private helpers
+
+    private static VectorMask<Integer> valid(IntVector epochDay) {
+        return epochDay.compare(VectorOperators.GE, Date.MIN_EPOCH_DAY)
+                .and(epochDay.compare(VectorOperators.LE, Date.MAX_EPOCH_DAY));
+    }
+
+    /**
+     * Lane-wise Date.dayOfWeekOf(): (epochDay + 4) % 7 + 1. Since 4096 % 7 == 1,
+     * (x >>> 12) + (x & 4095) has the remainder of x and is small enough for
+     * divideBySeven().
+     */
+    private static IntVector dayOfWeek(IntVector epochDay) {
+        IntVector shifted = epochDay.add(4);
+        IntVector folded = shifted.lanewise(VectorOperators.LSHR, 12).add(shifted.and(4095));
+        return folded.sub(divideBySeven(folded).mul(DAYS_PER_WEEK)).add(1);
+    }
+
+    /**
+     * @param x lanes in [0, 5120)
+     * @return x / 7
+     */
+    private static IntVector divideBySeven(IntVector x) {
+        return x.mul(SEVENTH_MULTIPLIER).lanewise(VectorOperators.LSHR, SEVENTH_SHIFT);
+    }
+
+    /**
+     * Lane-wise year of Date.decodeDate().
+     */
+    private static IntVector year(IntVector epochDay) {
+        IntVector n1 = epochDay.add(146036).lanewise(VectorOperators.LSHL, 2).add(3);
+        // n1 < 2^24, so (n1 >>> 7) * 14700 fits in 31 bits; 14700 / 2^24 is close to 128 / 146097
+        IntVector century = floorDiv(n1, DAYS_PER_ERA_CENTURY, 7, 14700, 24);
+        IntVector n2 = n1.sub(century.mul(DAYS_PER_ERA_CENTURY)).and(~3).add(3);
+        // n2 < 146100, so n2 * 5742 fits in 30 bits; 5742 / 2^23 is close to 1 / 1461
+        IntVector yearOfCentury = floorDiv(n2, DAYS_PER_FOUR_YEARS, 0, 5742, 23);
+        IntVector dayOfYear = n2.sub(yearOfCentury.mul(DAYS_PER_FOUR_YEARS)).lanewise(VectorOperators.ASHR, 2);
+        IntVector year = century.mul(100).add(yearOfCentury).sub(400);
+        return year.add(1, dayOfYear.compare(VectorOperators.GE, 306));
+    }
+
+    /**
+     * Lane-wise Date.calculateDate(1, JANUARY, year).
+     */
+    private static IntVector januaryFirst(IntVector year) {
+        IntVector shiftedYear = year.add(399);
+        IntVector century = shiftedYear.mul(5243).lanewise(VectorOperators.LSHR, 19);
+        IntVector yearDays = shiftedYear.mul(1461).lanewise(VectorOperators.ASHR, 2)
+                .sub(century).add(century.lanewise(VectorOperators.ASHR, 2));
+        return yearDays.add(306 + 1 - 146037);
+    }
+
+    /**
+     * Floor division of non-negative lanes by a positive constant, from the estimate
+     * ((n >>> preShift) * multiplier) >>> shift, which must be off by at most one.
+     * The remainder corrects the estimate without masks: r >> 31 is -1 when r < 0,
+     * and ((r - divisor) >> 31) + 1 is 1 when r >= divisor.
+     */
+    private static IntVector floorDiv(IntVector n, int divisor, int preShift, int multiplier, int shift) {
+        IntVector q = n.lanewise(VectorOperators.LSHR, preShift).mul(multiplier)
+                .lanewise(VectorOperators.LSHR, shift);
+        IntVector remainder = n.sub(q.mul(divisor));
+        IntVector tooHigh = remainder.lanewise(VectorOperators.ASHR, 31);
+        IntVector tooLow = remainder.sub(divisor).lanewise(VectorOperators.ASHR, 31).add(1);
+        return q.add(tooHigh).add(tooLow);
+    }
+}